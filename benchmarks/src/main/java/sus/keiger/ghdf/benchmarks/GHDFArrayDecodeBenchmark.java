@@ -0,0 +1,198 @@
+package sus.keiger.ghdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GHDFArrayDecodeBenchmark
+{
+    // Fields.
+    @Param({ "Int16", "Int32", "Int64", "Float", "Double", "Boolean" })
+    public String Type;
+
+    @Param({ "Loop", "Bulk" })
+    public String Decoder;
+
+    @Param({ "4096", "4194304" })
+    public int Length;
+
+
+    // Private fields.
+    private byte[] _data;
+
+
+    // Methods.
+    @Setup
+    public void Setup()
+    {
+        // Both decoders read the same bytes, booleans are kept valid so neither of them throws.
+        Random Generator = new Random(42L);
+        _data = new byte[Length * GetElementSize()];
+        Generator.nextBytes(_data);
+        if (Type.equals("Boolean"))
+        {
+            for (int i = 0; i < _data.length; i++)
+            {
+                _data[i] &= 1;
+            }
+        }
+    }
+
+    @Benchmark
+    public Object Decode() throws IOException
+    {
+        ByteBuffer Data = ByteBuffer.wrap(_data).order(ByteOrder.LITTLE_ENDIAN);
+        return Decoder.equals("Bulk") ? DecodeBulk(Data) : DecodeLoop(Data);
+    }
+
+
+    // Private methods.
+    private int GetElementSize()
+    {
+        return switch (Type)
+        {
+            case "Int16" -> Short.BYTES;
+            case "Int32", "Float" -> Integer.BYTES;
+            case "Int64", "Double" -> Long.BYTES;
+            case "Boolean" -> 1;
+            default -> throw new IllegalStateException("Unknown type: %s".formatted(Type));
+        };
+    }
+
+    private Object DecodeLoop(ByteBuffer data) throws IOException
+    {
+        // One getX call per element, the way the array readers decoded before the bulk copies.
+        switch (Type)
+        {
+            case "Int16" ->
+            {
+                short[] Values = new short[Length];
+                for (int i = 0; i < Length; i++)
+                {
+                    Values[i] = data.getShort();
+                }
+                return Values;
+            }
+            case "Int32" ->
+            {
+                int[] Values = new int[Length];
+                for (int i = 0; i < Length; i++)
+                {
+                    Values[i] = data.getInt();
+                }
+                return Values;
+            }
+            case "Int64" ->
+            {
+                long[] Values = new long[Length];
+                for (int i = 0; i < Length; i++)
+                {
+                    Values[i] = data.getLong();
+                }
+                return Values;
+            }
+            case "Float" ->
+            {
+                float[] Values = new float[Length];
+                for (int i = 0; i < Length; i++)
+                {
+                    Values[i] = data.getFloat();
+                }
+                return Values;
+            }
+            case "Double" ->
+            {
+                double[] Values = new double[Length];
+                for (int i = 0; i < Length; i++)
+                {
+                    Values[i] = data.getDouble();
+                }
+                return Values;
+            }
+            default ->
+            {
+                boolean[] Values = new boolean[Length];
+                for (int i = 0; i < Length; i++)
+                {
+                    byte Value = data.get();
+                    Values[i] = switch (Value)
+                    {
+                        case 0 -> false;
+                        case 1 -> true;
+                        default -> throw new IOException("Found boolean with invalid value: %d".formatted(Value));
+                    };
+                }
+                return Values;
+            }
+        }
+    }
+
+    private Object DecodeBulk(ByteBuffer data) throws IOException
+    {
+        // A single bulk get through a typed view, the boolean check matches GHDFReaderVersion1.DecodeBooleans.
+        switch (Type)
+        {
+            case "Int16" ->
+            {
+                short[] Values = new short[Length];
+                data.asShortBuffer().get(Values);
+                return Values;
+            }
+            case "Int32" ->
+            {
+                int[] Values = new int[Length];
+                data.asIntBuffer().get(Values);
+                return Values;
+            }
+            case "Int64" ->
+            {
+                long[] Values = new long[Length];
+                data.asLongBuffer().get(Values);
+                return Values;
+            }
+            case "Float" ->
+            {
+                float[] Values = new float[Length];
+                data.asFloatBuffer().get(Values);
+                return Values;
+            }
+            case "Double" ->
+            {
+                double[] Values = new double[Length];
+                data.asDoubleBuffer().get(Values);
+                return Values;
+            }
+            default ->
+            {
+                byte[] RawValues = new byte[Length];
+                data.get(RawValues);
+                int InvalidBits = 0;
+                for (byte Value : RawValues)
+                {
+                    InvalidBits |= Value;
+                }
+                if ((InvalidBits & ~1) != 0)
+                {
+                    throw new IOException("Found boolean with invalid value");
+                }
+
+                boolean[] Values = new boolean[Length];
+                for (int i = 0; i < Length; i++)
+                {
+                    Values[i] = RawValues[i] != 0;
+                }
+                return Values;
+            }
+        }
+    }
+}
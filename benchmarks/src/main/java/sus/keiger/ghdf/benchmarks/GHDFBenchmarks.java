@@ -0,0 +1,29 @@
+package sus.keiger.ghdf.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public final class GHDFBenchmarks
+{
+    // Constructors.
+    private GHDFBenchmarks() { }
+
+
+    // Static methods.
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException
+    {
+        // Allocation rate matters as much as throughput here, so the GC profiler is on unless others are chosen.
+        CommandLineOptions CommandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder Builder = new OptionsBuilder().parent(CommandLine);
+        if (CommandLine.getProfilers().isEmpty())
+        {
+            Builder.addProfiler(GCProfiler.class);
+        }
+        new Runner(Builder.build()).run();
+    }
+}
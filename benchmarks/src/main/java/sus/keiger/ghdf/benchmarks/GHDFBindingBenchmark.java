@@ -0,0 +1,112 @@
+package sus.keiger.ghdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sus.keiger.ghdf.GHDFBinding;
+import sus.keiger.ghdf.GHDFCompound;
+import sus.keiger.ghdf.GHDFID;
+import sus.keiger.ghdf.IGHDFReader;
+import sus.keiger.ghdf.IGHDFWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GHDFBindingBenchmark
+{
+    // Private static fields.
+    private static final int ENTITY_COUNT = 2000;
+
+
+    // Fields.
+    @Param({ "Binding", "Compound" })
+    public String Mapping;
+
+
+    // Private fields.
+    private World _world;
+    private byte[] _data;
+    private GHDFBinding<World> _binding;
+
+
+    // Methods.
+    @Setup
+    public void Setup() throws IOException
+    {
+        Random Generator = new Random(42L);
+        Entity[] Entities = new Entity[ENTITY_COUNT];
+        for (int i = 0; i < Entities.length; i++)
+        {
+            Entities[i] = new Entity(Generator.nextLong(), "Entity %d".formatted(i % 64), Generator.nextDouble(),
+                    Generator.nextDouble(), Generator.nextDouble(), Generator.nextFloat(), Generator.nextInt(100),
+                    Generator.nextBoolean(), new int[] { Generator.nextInt(), Generator.nextInt() });
+        }
+        _world = new World("World", Generator.nextLong(), Entities);
+        _binding = GHDFBinding.Of(World.class);
+        _data = _binding.Write(_world);
+    }
+
+    @Benchmark
+    public Object Read() throws IOException
+    {
+        if (Mapping.equals("Binding"))
+        {
+            return _binding.Read(_data);
+        }
+
+        GHDFCompound Compound = IGHDFReader.GetVersion1().Read(new ByteArrayInputStream(_data));
+        GHDFCompound[] EntityCompounds = Compound.GetEntry(3);
+        Entity[] Entities = new Entity[EntityCompounds.length];
+        for (int i = 0; i < Entities.length; i++)
+        {
+            GHDFCompound Entry = EntityCompounds[i];
+            Entities[i] = new Entity(Entry.GetLong(1), Entry.GetEntry(2), Entry.GetDouble(3), Entry.GetDouble(4),
+                    Entry.GetDouble(5), Entry.GetFloat(6), Entry.GetInt(7), Entry.GetBoolean(8), Entry.GetEntry(9));
+        }
+        return new World(Compound.GetEntry(1), Compound.GetLong(2), Entities);
+    }
+
+    @Benchmark
+    public byte[] Write() throws IOException
+    {
+        if (Mapping.equals("Binding"))
+        {
+            return _binding.Write(_world);
+        }
+
+        GHDFCompound[] EntityCompounds = new GHDFCompound[_world.entities().length];
+        for (int i = 0; i < EntityCompounds.length; i++)
+        {
+            Entity Value = _world.entities()[i];
+            GHDFCompound Entry = new GHDFCompound();
+            Entry.SetLong(1, Value.uuid());
+            Entry.SetEntry(2, Value.name());
+            Entry.SetDouble(3, Value.x());
+            Entry.SetDouble(4, Value.y());
+            Entry.SetDouble(5, Value.z());
+            Entry.SetFloat(6, Value.health());
+            Entry.SetInt(7, Value.level());
+            Entry.SetBoolean(8, Value.isHostile());
+            Entry.SetEntry(9, Value.flags());
+            EntityCompounds[i] = Entry;
+        }
+        GHDFCompound Compound = new GHDFCompound();
+        Compound.SetEntry(1, _world.name());
+        Compound.SetLong(2, _world.seed());
+        Compound.SetEntry(3, EntityCompounds);
+        return IGHDFWriter.GetVersion1().Write(Compound);
+    }
+
+
+    // Types.
+    public record Entity(long uuid, String name, double x, double y, double z, float health, int level,
+                         boolean isHostile, int[] flags) { }
+
+    public record World(@GHDFID(1) String name, @GHDFID(2) long seed, @GHDFID(3) Entity[] entities) { }
+}
@@ -0,0 +1,97 @@
+package sus.keiger.ghdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sus.keiger.ghdf.GHDFColumns;
+import sus.keiger.ghdf.GHDFCompound;
+import sus.keiger.ghdf.GHDFReadOptions;
+import sus.keiger.ghdf.IGHDFReader;
+import sus.keiger.ghdf.IGHDFWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GHDFColumnsBenchmark
+{
+    // Private static fields.
+    private static final int ROW_COUNT = 10000;
+    private static final int ID_ROWS = 1;
+
+
+    // Fields.
+    @Param({ "Columns", "Compounds" })
+    public String Layout;
+
+
+    // Private fields.
+    private byte[] _data;
+    private GHDFCompound _rows;
+    private GHDFCompound _columns;
+    private IGHDFReader _reader;
+
+
+    // Methods.
+    @Setup
+    public void Setup() throws IOException
+    {
+        Random Generator = new Random(42L);
+        GHDFCompound[] Rows = new GHDFCompound[ROW_COUNT];
+        for (int i = 0; i < Rows.length; i++)
+        {
+            GHDFCompound Row = new GHDFCompound();
+            Row.SetLong(1, Generator.nextLong());
+            Row.SetInt(2, Generator.nextInt(1000));
+            Row.SetDouble(3, Generator.nextDouble());
+            Row.SetDouble(4, Generator.nextDouble());
+            Row.SetFloat(5, Generator.nextFloat());
+            Row.SetBoolean(6, Generator.nextBoolean());
+            Row.SetEntry(7, "Category %d".formatted(i % 16));
+            Rows[i] = Row;
+        }
+
+        _rows = new GHDFCompound();
+        _rows.SetEntry(ID_ROWS, Rows);
+        _columns = new GHDFCompound();
+        _columns.SetEntry(ID_ROWS, GHDFColumns.FromCompounds(Rows));
+        _data = IGHDFWriter.GetVersion1().Write(_rows);
+        _reader = Layout.equals("Columns")
+                ? IGHDFReader.GetVersion1(new GHDFReadOptions().SetColumnarArraysEnabled(true))
+                : IGHDFReader.GetVersion1();
+    }
+
+    @Benchmark
+    public double ReadAndSum() throws IOException
+    {
+        // Sums a single field over every row, the access pattern the columnar layout is meant for.
+        GHDFCompound Compound = _reader.Read(new ByteArrayInputStream(_data));
+        double Sum = 0d;
+        if (Layout.equals("Columns"))
+        {
+            for (double Value : Compound.GetColumns(ID_ROWS).GetDoubleColumn(3))
+            {
+                Sum += Value;
+            }
+            return Sum;
+        }
+
+        GHDFCompound[] Rows = Compound.GetEntry(ID_ROWS);
+        for (GHDFCompound Row : Rows)
+        {
+            Sum += Row.GetDouble(3);
+        }
+        return Sum;
+    }
+
+    @Benchmark
+    public byte[] Write() throws IOException
+    {
+        return IGHDFWriter.GetVersion1().Write(Layout.equals("Columns") ? _columns : _rows);
+    }
+}
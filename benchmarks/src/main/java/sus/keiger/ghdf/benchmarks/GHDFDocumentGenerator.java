@@ -0,0 +1,263 @@
+package sus.keiger.ghdf.benchmarks;
+
+import sus.keiger.ghdf.GHDFCompound;
+
+import java.util.Random;
+
+public final class GHDFDocumentGenerator
+{
+    // Static fields.
+    public static final int SCALAR_ENTRY_COUNT = 1024;
+    public static final int ARRAY_LENGTH = 1 << 20;
+    public static final int STRING_ARRAY_LENGTH = 1 << 14;
+    public static final int COMPOUND_ARRAY_LENGTH = 4096;
+    public static final int WIDE_ENTRY_COUNT = 1 << 16;
+    public static final int DEEP_DEPTH = 256;
+    public static final int LABEL_COUNT = 2048;
+
+
+    // Private static fields.
+    private static final String NON_ASCII_CHARACTERS = "äöüßéñøåЖжЯ漢字🙂";
+
+
+    // Constructors.
+    private GHDFDocumentGenerator() { }
+
+
+    // Static methods.
+    public static GHDFCompound Create(String document, long seed)
+    {
+        Random Generator = new Random(seed);
+        GHDFCompound Compound = new GHDFCompound();
+        switch (document)
+        {
+            case "Int8" -> FillScalars(Compound, Generator, (Target, ID, Random) ->
+                    Target.SetByte(ID, (byte)Random.nextInt()));
+            case "Int16" -> FillScalars(Compound, Generator, (Target, ID, Random) ->
+                    Target.SetShort(ID, (short)Random.nextInt()));
+            case "Int32" -> FillScalars(Compound, Generator, (Target, ID, Random) ->
+                    Target.SetInt(ID, Random.nextInt()));
+            case "Int64" -> FillScalars(Compound, Generator, (Target, ID, Random) ->
+                    Target.SetLong(ID, Random.nextLong()));
+            case "Float" -> FillScalars(Compound, Generator, (Target, ID, Random) ->
+                    Target.SetFloat(ID, Random.nextFloat()));
+            case "Double" -> FillScalars(Compound, Generator, (Target, ID, Random) ->
+                    Target.SetDouble(ID, Random.nextDouble()));
+            case "Boolean" -> FillScalars(Compound, Generator, (Target, ID, Random) ->
+                    Target.SetBoolean(ID, Random.nextBoolean()));
+            case "String" -> FillScalars(Compound, Generator, (Target, ID, Random) ->
+                    Target.SetEntry(ID, CreateString(Random)));
+            case "Int8Array" -> Compound.SetEntry(1, CreateByteArray(Generator, ARRAY_LENGTH));
+            case "Int16Array" -> Compound.SetEntry(1, CreateShortArray(Generator, ARRAY_LENGTH));
+            case "Int32Array" -> Compound.SetEntry(1, Generator.ints(ARRAY_LENGTH).toArray());
+            case "Int64Array" -> Compound.SetEntry(1, Generator.longs(ARRAY_LENGTH).toArray());
+            case "FloatArray" -> Compound.SetEntry(1, CreateFloatArray(Generator, ARRAY_LENGTH));
+            case "DoubleArray" -> Compound.SetEntry(1, Generator.doubles(ARRAY_LENGTH).toArray());
+            case "BooleanArray" -> Compound.SetEntry(1, CreateBooleanArray(Generator, ARRAY_LENGTH));
+            case "StringArray" -> Compound.SetEntry(1, CreateStringArray(Generator, STRING_ARRAY_LENGTH));
+            case "CompoundArray" -> Compound.SetEntry(1, CreateCompoundArray(Generator, COMPOUND_ARRAY_LENGTH));
+            case "WideCompound" -> FillWide(Compound, Generator);
+            case "DeepCompound" -> Compound.SetEntry(1, CreateDeepCompound(Generator, DEEP_DEPTH));
+            case "Mixed" -> FillMixed(Compound, Generator);
+            case "RepeatedStrings" -> FillRepeatedStrings(Compound, Generator);
+            default -> throw new IllegalArgumentException("Unknown benchmark document: %s".formatted(document));
+        }
+        return Compound;
+    }
+
+
+    // Private static methods.
+    private static void FillScalars(GHDFCompound compound, Random random, ScalarSetter setter)
+    {
+        for (int ID = 1; ID <= SCALAR_ENTRY_COUNT; ID++)
+        {
+            setter.Set(compound, ID, random);
+        }
+    }
+
+    private static void FillWide(GHDFCompound compound, Random random)
+    {
+        for (int ID = 1; ID <= WIDE_ENTRY_COUNT; ID++)
+        {
+            switch (ID % 4)
+            {
+                case 0 -> compound.SetInt(ID, random.nextInt());
+                case 1 -> compound.SetDouble(ID, random.nextDouble());
+                case 2 -> compound.SetBoolean(ID, random.nextBoolean());
+                default -> compound.SetEntry(ID, CreateString(random));
+            }
+        }
+    }
+
+    private static GHDFCompound CreateDeepCompound(Random random, int depth)
+    {
+        GHDFCompound Root = new GHDFCompound();
+        GHDFCompound Current = Root;
+        for (int i = 0; i < depth; i++)
+        {
+            Current.SetInt(1, random.nextInt());
+            Current.SetEntry(2, CreateString(random));
+            GHDFCompound Child = new GHDFCompound();
+            Current.SetEntry(3, Child);
+            Current = Child;
+        }
+        return Root;
+    }
+
+    private static void FillMixed(GHDFCompound compound, Random random)
+    {
+        // Shaped like a game save: a header, a few large chunks of tile data and many small entity records.
+        GHDFCompound Header = new GHDFCompound();
+        Header.SetEntry(1, "world-" + random.nextInt(1000));
+        Header.SetLong(2, random.nextLong());
+        Header.SetInt(3, random.nextInt(10000));
+        Header.SetBoolean(4, random.nextBoolean());
+        compound.SetEntry(1, Header);
+
+        GHDFCompound[] Chunks = new GHDFCompound[64];
+        for (int i = 0; i < Chunks.length; i++)
+        {
+            GHDFCompound Chunk = new GHDFCompound();
+            Chunk.SetInt(1, i % 8);
+            Chunk.SetInt(2, i / 8);
+            Chunk.SetEntry(3, CreateShortArray(random, 16 * 16 * 64));
+            Chunk.SetEntry(4, CreateByteArray(random, 16 * 16 * 64));
+            Chunks[i] = Chunk;
+        }
+        compound.SetEntry(2, Chunks);
+
+        GHDFCompound[] Entities = new GHDFCompound[2048];
+        for (int i = 0; i < Entities.length; i++)
+        {
+            GHDFCompound Entity = new GHDFCompound();
+            Entity.SetInt(1, i);
+            Entity.SetEntry(2, CreateString(random));
+            Entity.SetEntry(3, new double[] { random.nextDouble(), random.nextDouble(), random.nextDouble() });
+            Entity.SetFloat(4, random.nextFloat());
+            Entity.SetShort(5, (short)random.nextInt(20));
+            Entity.SetBoolean(6, random.nextBoolean());
+
+            GHDFCompound[] Items = new GHDFCompound[random.nextInt(8)];
+            for (int j = 0; j < Items.length; j++)
+            {
+                GHDFCompound Item = new GHDFCompound();
+                Item.SetEntry(1, "item_" + random.nextInt(200));
+                Item.SetByte(2, (byte)random.nextInt(64));
+                Items[j] = Item;
+            }
+            Entity.SetEntry(7, Items);
+            Entity.SetEntry(8, CreateStringArray(random, random.nextInt(4)));
+            Entities[i] = Entity;
+        }
+        compound.SetEntry(3, Entities);
+    }
+
+    private static void FillRepeatedStrings(GHDFCompound compound, Random random)
+    {
+        // Many records which reuse a small set of keys and labels, the case string caching is meant for.
+        String[] Labels = CreateStringArray(random, LABEL_COUNT);
+        GHDFCompound[] Records = new GHDFCompound[COMPOUND_ARRAY_LENGTH];
+        for (int i = 0; i < Records.length; i++)
+        {
+            GHDFCompound Record = new GHDFCompound();
+            Record.SetEntry(1, Labels[random.nextInt(Labels.length)]);
+            String[] Tags = new String[16];
+            for (int j = 0; j < Tags.length; j++)
+            {
+                Tags[j] = Labels[random.nextInt(Labels.length)];
+            }
+            Record.SetEntry(2, Tags);
+            Records[i] = Record;
+        }
+        compound.SetEntry(1, Records);
+    }
+
+    private static String CreateString(Random random)
+    {
+        int Length = 8 + random.nextInt(25);
+        StringBuilder Builder = new StringBuilder(Length);
+        for (int i = 0; i < Length; i++)
+        {
+            if (random.nextInt(16) == 0)
+            {
+                Builder.appendCodePoint(NON_ASCII_CHARACTERS.codePointAt(
+                        NON_ASCII_CHARACTERS.offsetByCodePoints(0, random.nextInt(
+                        NON_ASCII_CHARACTERS.codePointCount(0, NON_ASCII_CHARACTERS.length())))));
+            }
+            else
+            {
+                Builder.append((char)('a' + random.nextInt(26)));
+            }
+        }
+        return Builder.toString();
+    }
+
+    private static byte[] CreateByteArray(Random random, int length)
+    {
+        byte[] Values = new byte[length];
+        random.nextBytes(Values);
+        return Values;
+    }
+
+    private static short[] CreateShortArray(Random random, int length)
+    {
+        short[] Values = new short[length];
+        for (int i = 0; i < length; i++)
+        {
+            Values[i] = (short)random.nextInt();
+        }
+        return Values;
+    }
+
+    private static float[] CreateFloatArray(Random random, int length)
+    {
+        float[] Values = new float[length];
+        for (int i = 0; i < length; i++)
+        {
+            Values[i] = random.nextFloat();
+        }
+        return Values;
+    }
+
+    private static boolean[] CreateBooleanArray(Random random, int length)
+    {
+        boolean[] Values = new boolean[length];
+        for (int i = 0; i < length; i++)
+        {
+            Values[i] = random.nextBoolean();
+        }
+        return Values;
+    }
+
+    private static String[] CreateStringArray(Random random, int length)
+    {
+        String[] Values = new String[length];
+        for (int i = 0; i < length; i++)
+        {
+            Values[i] = CreateString(random);
+        }
+        return Values;
+    }
+
+    private static GHDFCompound[] CreateCompoundArray(Random random, int length)
+    {
+        GHDFCompound[] Values = new GHDFCompound[length];
+        for (int i = 0; i < length; i++)
+        {
+            GHDFCompound Value = new GHDFCompound();
+            Value.SetInt(1, random.nextInt());
+            Value.SetLong(2, random.nextLong());
+            Value.SetEntry(3, CreateString(random));
+            Value.SetEntry(4, new int[] { random.nextInt(), random.nextInt(), random.nextInt() });
+            Values[i] = Value;
+        }
+        return Values;
+    }
+
+
+    // Types.
+    private interface ScalarSetter
+    {
+        void Set(GHDFCompound compound, int id, Random random);
+    }
+}
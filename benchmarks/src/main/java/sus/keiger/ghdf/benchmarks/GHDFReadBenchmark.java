@@ -0,0 +1,85 @@
+package sus.keiger.ghdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sus.keiger.ghdf.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GHDFReadBenchmark
+{
+    // Fields.
+    @Param({ "Int8", "Int16", "Int32", "Int64", "Float", "Double", "Boolean", "String", "Int8Array", "Int16Array",
+            "Int32Array", "Int64Array", "FloatArray", "DoubleArray", "BooleanArray", "StringArray", "CompoundArray",
+            "WideCompound", "DeepCompound", "Mixed", "RepeatedStrings" })
+    public String Document;
+
+    @Param({ "Version1", "Version2", "ArrayViews", "StringCache", "StringTable", "Stream" })
+    public String Reader;
+
+
+    // Private fields.
+    private byte[] _data;
+    private IGHDFReader _reader;
+    private boolean _isStreamReading;
+
+
+    // Methods.
+    @Setup
+    public void Setup() throws IOException
+    {
+        GHDFCompound Compound = GHDFDocumentGenerator.Create(Document, 42L);
+        _isStreamReading = Reader.equals("Stream");
+        switch (Reader)
+        {
+            case "Version2" ->
+            {
+                _data = IGHDFWriter.GetVersion2().Write(Compound);
+                _reader = IGHDFReader.GetVersion2();
+            }
+            case "Version1", "Stream" ->
+            {
+                _data = IGHDFWriter.GetVersion1().Write(Compound);
+                _reader = IGHDFReader.GetVersion1();
+            }
+            case "ArrayViews" ->
+            {
+                _data = IGHDFWriter.GetVersion1().Write(Compound);
+                _reader = IGHDFReader.GetVersion1(new GHDFReadOptions().SetArrayViewsEnabled(true));
+            }
+            case "StringCache" ->
+            {
+                _data = IGHDFWriter.GetVersion1().Write(Compound);
+                _reader = IGHDFReader.GetVersion1(new GHDFReadOptions().SetStringCache(new GHDFStringCache()));
+            }
+            case "StringTable" ->
+            {
+                _data = IGHDFWriter.GetVersion1(new GHDFWriteOptions().SetStringTableEnabled(true)).Write(Compound);
+                _reader = IGHDFReader.GetVersion1();
+            }
+            default -> throw new IllegalArgumentException("Unknown reader: %s".formatted(Reader));
+        }
+    }
+
+    @Benchmark
+    public Object Read() throws IOException
+    {
+        if (!_isStreamReading)
+        {
+            return _reader.Read(new ByteArrayInputStream(_data));
+        }
+
+        try (IGHDFStreamReader StreamReader = IGHDFStreamReader.GetVersion1(new ByteArrayInputStream(_data)))
+        {
+            StreamReader.Next();
+            return StreamReader.ReadValue();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package sus.keiger.ghdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sus.keiger.ghdf.GHDFCompound;
+import sus.keiger.ghdf.GHDFWriteOptions;
+import sus.keiger.ghdf.IGHDFWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GHDFWriteBenchmark
+{
+    // Fields.
+    @Param({ "Int8", "Int16", "Int32", "Int64", "Float", "Double", "Boolean", "String", "Int8Array", "Int16Array",
+            "Int32Array", "Int64Array", "FloatArray", "DoubleArray", "BooleanArray", "StringArray", "CompoundArray",
+            "WideCompound", "DeepCompound", "Mixed", "RepeatedStrings" })
+    public String Document;
+
+    @Param({ "1", "2" })
+    public int Version;
+
+    @Param({ "false", "true" })
+    public boolean StringTable;
+
+
+    // Private fields.
+    private GHDFCompound _compound;
+    private IGHDFWriter _writer;
+
+
+    // Methods.
+    @Setup
+    public void Setup()
+    {
+        _compound = GHDFDocumentGenerator.Create(Document, 42L);
+        GHDFWriteOptions Options = new GHDFWriteOptions().SetStringTableEnabled(StringTable);
+        _writer = Version == 1 ? IGHDFWriter.GetVersion1(Options) : IGHDFWriter.GetVersion2(Options);
+    }
+
+    @Benchmark
+    public byte[] WriteArray() throws IOException
+    {
+        return _writer.Write(_compound);
+    }
+
+    @Benchmark
+    public void WriteStream() throws IOException
+    {
+        _writer.Write(_compound, OutputStream.nullOutputStream());
+    }
+}
@@ -12,4 +12,21 @@ final class GHDF
     public static final ByteOrder ENDIANNESS = ByteOrder.LITTLE_ENDIAN;
 
     public static final String EXTENSION = ".ghdf";
+
+    public static final String TEMP_EXTENSION = ".tmp";
+
+    public static final int VERSION_MASK = 0xFFFF;
+    public static final int FLAG_COMPRESSED = 1 << 16;
+    public static final int FLAG_STRING_TABLE = 1 << 17;
+    public static final int SUPPORTED_FLAGS = FLAG_COMPRESSED | FLAG_STRING_TABLE;
+
+    public static final byte[] INDEX_SIGNATURE = new byte[] { (byte)'G', (byte)'H', (byte)'D', (byte)'F',
+            (byte)'I', (byte)'D', (byte)'X', (byte)0 };
+
+    public static final String INDEX_EXTENSION = ".ghdfidx";
+
+    public static final byte[] LOG_SIGNATURE = new byte[] { (byte)'G', (byte)'H', (byte)'D', (byte)'F',
+            (byte)'L', (byte)'O', (byte)'G', (byte)0 };
+
+    public static final String JOURNAL_EXTENSION = ".ghdfjournal";
 }
\ No newline at end of file
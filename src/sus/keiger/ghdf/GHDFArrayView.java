@@ -0,0 +1,86 @@
+package sus.keiger.ghdf;
+
+import java.nio.ByteBuffer;
+
+final class GHDFArrayView
+{
+    // Private fields.
+    private final ByteBuffer _data;
+    private final GHDFType _type;
+
+
+    // Constructors.
+    GHDFArrayView(ByteBuffer data, GHDFType type)
+    {
+        _data = data.asReadOnlyBuffer().order(GHDF.ENDIANNESS);
+        _type = type;
+    }
+
+
+    // Static methods.
+    static boolean IsViewableType(GHDFType type)
+    {
+        return type.IsArray() && (GHDFReaderVersion1.GetFixedSize(type) > 0) && (type != GHDFType.BooleanArray);
+    }
+
+
+    // Methods.
+    GHDFType GetType()
+    {
+        return _type;
+    }
+
+    ByteBuffer GetData()
+    {
+        return _data.duplicate().order(GHDF.ENDIANNESS);
+    }
+
+    int GetLength()
+    {
+        return _data.remaining() / GHDFReaderVersion1.GetFixedSize(_type);
+    }
+
+    Object ToArray()
+    {
+        ByteBuffer Data = GetData();
+        switch (_type)
+        {
+            case Int8Array, UInt8Array ->
+            {
+                byte[] Values = new byte[GetLength()];
+                Data.get(Values);
+                return Values;
+            }
+            case Int16Array, UInt16Array ->
+            {
+                short[] Values = new short[GetLength()];
+                Data.asShortBuffer().get(Values);
+                return Values;
+            }
+            case Int32Array, UInt32Array ->
+            {
+                int[] Values = new int[GetLength()];
+                Data.asIntBuffer().get(Values);
+                return Values;
+            }
+            case Int64Array, UInt64Array ->
+            {
+                long[] Values = new long[GetLength()];
+                Data.asLongBuffer().get(Values);
+                return Values;
+            }
+            case FloatArray ->
+            {
+                float[] Values = new float[GetLength()];
+                Data.asFloatBuffer().get(Values);
+                return Values;
+            }
+            default ->
+            {
+                double[] Values = new double[GetLength()];
+                Data.asDoubleBuffer().get(Values);
+                return Values;
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+final class GHDFAsyncIO
+{
+    // Static methods.
+    static CompletableFuture<ByteBuffer> ReadFile(Path path)
+    {
+        CompletableFuture<ByteBuffer> Result = new CompletableFuture<>();
+        AsynchronousFileChannel Channel;
+        ByteBuffer Data;
+        try
+        {
+            Channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+            long Size = Channel.size();
+            if (Size > Integer.MAX_VALUE - 8)
+            {
+                Channel.close();
+                throw new GHDFReadException("Cannot read files larger than (2^31 - 9) bytes.");
+            }
+            Data = ByteBuffer.allocate((int)Size);
+        }
+        catch (IOException e)
+        {
+            Result.completeExceptionally(e);
+            return Result;
+        }
+
+        Channel.read(Data, 0L, null, new CompletionHandler<Integer, Void>()
+        {
+            @Override
+            public void completed(Integer count, Void attachment)
+            {
+                if ((count < 0) || !Data.hasRemaining())
+                {
+                    Close(Channel, Result, count < 0 ? new GHDFReadException(
+                            "Failed to read GHDF data because it was incomplete.") : null, Data.flip());
+                    return;
+                }
+                Channel.read(Data, Data.position(), null, this);
+            }
+
+            @Override
+            public void failed(Throwable exception, Void attachment)
+            {
+                Close(Channel, Result, exception, null);
+            }
+        });
+        return Result;
+    }
+
+    static CompletableFuture<Void> WriteFile(Path path, byte[] data)
+    {
+        // Written next to the target and moved over it once complete, the target may still be mapped by a lazy read.
+        Path TempPath = path.resolveSibling(path.getFileName() + GHDF.TEMP_EXTENSION);
+        return WriteWholeFile(TempPath, data).thenApply(Unchecked((Void Value) ->
+        {
+            Files.move(TempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Value;
+        })).whenComplete((Value, Exception) ->
+        {
+            if (Exception == null)
+            {
+                return;
+            }
+            try
+            {
+                Files.deleteIfExists(TempPath);
+            }
+            catch (IOException e)
+            {
+                Exception.addSuppressed(e);
+            }
+        });
+    }
+
+    static <T, R> Function<T, R> Unchecked(IOFunction<T, R> function)
+    {
+        return Value ->
+        {
+            try
+            {
+                return function.Apply(Value);
+            }
+            catch (IOException e)
+            {
+                throw new CompletionException(e);
+            }
+        };
+    }
+
+
+    // Private static methods.
+    private static CompletableFuture<Void> WriteWholeFile(Path path, byte[] data)
+    {
+        CompletableFuture<Void> Result = new CompletableFuture<>();
+        AsynchronousFileChannel Channel;
+        try
+        {
+            Channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        catch (IOException e)
+        {
+            Result.completeExceptionally(e);
+            return Result;
+        }
+
+        ByteBuffer Data = ByteBuffer.wrap(data);
+        Channel.write(Data, 0L, null, new CompletionHandler<Integer, Void>()
+        {
+            @Override
+            public void completed(Integer count, Void attachment)
+            {
+                if (!Data.hasRemaining())
+                {
+                    Close(Channel, Result, null, null);
+                    return;
+                }
+                Channel.write(Data, Data.position(), null, this);
+            }
+
+            @Override
+            public void failed(Throwable exception, Void attachment)
+            {
+                Close(Channel, Result, exception, null);
+            }
+        });
+        return Result;
+    }
+
+    private static <T> void Close(AsynchronousFileChannel channel, CompletableFuture<T> result, Throwable exception,
+                                  T value)
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            if (exception == null)
+            {
+                exception = e;
+            }
+        }
+
+        if (exception != null)
+        {
+            result.completeExceptionally(exception);
+        }
+        else
+        {
+            result.complete(value);
+        }
+    }
+
+
+    // Types.
+    interface IOFunction<T, R>
+    {
+        R Apply(T value) throws IOException;
+    }
+}
@@ -0,0 +1,108 @@
+package sus.keiger.ghdf;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+class GHDFAutoDetectReader implements IGHDFReader
+{
+    // Static fields.
+    static final GHDFAutoDetectReader SHARED_INSTANCE = new GHDFAutoDetectReader();
+
+
+    // Private fields.
+    private final GHDFReaderVersion1 _version1Reader;
+    private final GHDFReaderVersion2 _version2Reader;
+
+
+    // Constructors.
+    public GHDFAutoDetectReader()
+    {
+        this(new GHDFReadOptions());
+    }
+
+    public GHDFAutoDetectReader(GHDFReadOptions options)
+    {
+        _version1Reader = new GHDFReaderVersion1(options);
+        _version2Reader = new GHDFReaderVersion2(options);
+    }
+
+
+    // Inherited methods.
+    @Override
+    public GHDFCompound Read(String filePath) throws IOException
+    {
+        try (InputStream FileStream = new FileInputStream(filePath))
+        {
+            return Read(FileStream);
+        }
+    }
+
+    @Override
+    public GHDFCompound Read(InputStream stream) throws IOException
+    {
+        ByteBuffer Data = ByteBuffer.wrap(stream.readAllBytes());
+        return GetReader(Data).Read(Data);
+    }
+
+    @Override
+    public GHDFCompound Read(String filePath, GHDFProjection projection) throws IOException
+    {
+        try (InputStream FileStream = new FileInputStream(filePath))
+        {
+            return Read(FileStream, projection);
+        }
+    }
+
+    @Override
+    public GHDFCompound Read(InputStream stream, GHDFProjection projection) throws IOException
+    {
+        if (projection == null)
+        {
+            throw new IllegalArgumentException("projection is null");
+        }
+
+        ByteBuffer Data = ByteBuffer.wrap(stream.readAllBytes());
+        return GetReader(Data).Read(Data, projection);
+    }
+
+    @Override
+    public CompletableFuture<GHDFCompound> ReadAsync(String filePath)
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+        return GHDFAsyncIO.ReadFile(Path.of(filePath)).thenApplyAsync(GHDFAsyncIO.Unchecked(
+                Data -> GetReader(Data).Read(Data)), _version1Reader.GetOptions().GetAsyncExecutor());
+    }
+
+
+    // Private methods.
+    private GHDFReaderVersion1 GetReader(ByteBuffer data) throws IOException
+    {
+        ByteBuffer Header = data.duplicate().order(GHDF.ENDIANNESS);
+        int Version;
+        try
+        {
+            GHDFReaderVersion1.VerifySignature(Header);
+            Version = Header.getInt() & GHDF.VERSION_MASK;
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new GHDFReadException("Failed to read GHDF header because it was incomplete.");
+        }
+
+        return switch (Version)
+        {
+            case GHDFReaderVersion1.VERSION -> _version1Reader;
+            case GHDFReaderVersion2.VERSION -> _version2Reader;
+            default -> throw new GHDFReadException("Unsupported GHDF data version: %d, supported: %d, %d)".formatted(
+                    Version, GHDFReaderVersion1.VERSION, GHDFReaderVersion2.VERSION));
+        };
+    }
+}
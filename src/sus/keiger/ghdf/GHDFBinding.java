@@ -0,0 +1,641 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public final class GHDFBinding<T>
+{
+    // Private static fields.
+    private static final int BUFFER_SIZE = 8192;
+    private static final GHDFWriterVersion1 WRITER = new GHDFWriterVersion1();
+    private static final GHDFReaderVersion1 READER = new GHDFReaderVersion1();
+
+    private static final Map<Class<?>, GHDFType> TYPES = Map.ofEntries(
+            Map.entry(byte.class, GHDFType.Int8),
+            Map.entry(short.class, GHDFType.Int16),
+            Map.entry(int.class, GHDFType.Int32),
+            Map.entry(long.class, GHDFType.Int64),
+            Map.entry(float.class, GHDFType.Float),
+            Map.entry(double.class, GHDFType.Double),
+            Map.entry(boolean.class, GHDFType.Boolean),
+            Map.entry(String.class, GHDFType.String),
+            Map.entry(GHDFCompound.class, GHDFType.Compound),
+            Map.entry(byte[].class, GHDFType.Int8Array),
+            Map.entry(short[].class, GHDFType.Int16Array),
+            Map.entry(int[].class, GHDFType.Int32Array),
+            Map.entry(long[].class, GHDFType.Int64Array),
+            Map.entry(float[].class, GHDFType.FloatArray),
+            Map.entry(double[].class, GHDFType.DoubleArray),
+            Map.entry(boolean[].class, GHDFType.BooleanArray),
+            Map.entry(String[].class, GHDFType.StringArray),
+            Map.entry(GHDFCompound[].class, GHDFType.CompoundArray));
+
+    private static final ClassValue<GHDFBinding<?>> BINDINGS = new ClassValue<>()
+    {
+        @Override
+        protected GHDFBinding<?> computeValue(Class<?> type)
+        {
+            return Bind(type);
+        }
+    };
+
+    // Types whose bindings are being built on the current thread, and the nested bindings built along the way.
+    private static final ThreadLocal<List<Class<?>>> RESOLVING = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<List<Class<?>>> RESOLVED = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final MethodHandle PRIMITIVE_SLOT = MethodHandles.arrayElementGetter(long[].class);
+    private static final MethodHandle OBJECT_SLOT = MethodHandles.arrayElementGetter(Object[].class);
+    private static final MethodHandle INT_BITS_TO_FLOAT;
+    private static final MethodHandle LONG_BITS_TO_DOUBLE;
+
+    static
+    {
+        try
+        {
+            MethodHandles.Lookup Lookup = MethodHandles.lookup();
+            INT_BITS_TO_FLOAT = Lookup.findStatic(Float.class, "intBitsToFloat",
+                    MethodType.methodType(float.class, int.class));
+            LONG_BITS_TO_DOUBLE = Lookup.findStatic(Double.class, "longBitsToDouble",
+                    MethodType.methodType(double.class, long.class));
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+
+    // Private fields.
+    private final Class<T> _type;
+    private final boolean _isRecord;
+    private final FieldBinding[] _fields;
+    private final int[] _ids;
+    private final int _primitiveCount;
+    private final int _objectCount;
+    private final MethodHandle _constructor;
+
+
+    // Constructors.
+    private GHDFBinding(Class<T> type)
+    {
+        // Every field gets a slot in either a long[] or an Object[] of the object being read. Records are created
+        // from these slots in a single constructor call, so primitive values are never boxed on the way.
+        _type = type;
+        _isRecord = type.isRecord();
+        List<FieldBinding> Fields = new ArrayList<>();
+        int PrimitiveCount = 0;
+        int ObjectCount = 0;
+
+        try
+        {
+            if (_isRecord)
+            {
+                MethodHandles.Lookup Lookup = GetLookup(type);
+                RecordComponent[] Components = type.getRecordComponents();
+                Class<?>[] ParameterTypes = new Class<?>[Components.length];
+                MethodHandle[] SlotReaders = new MethodHandle[Components.length];
+                int[] Reorder = new int[Components.length];
+
+                for (int i = 0; i < Components.length; i++)
+                {
+                    RecordComponent Component = Components[i];
+                    GHDFID ID = Component.getAnnotation(GHDFID.class);
+                    Class<?> ValueType = Component.getType();
+                    int Slot = ValueType.isPrimitive() ? PrimitiveCount++ : ObjectCount++;
+
+                    ParameterTypes[i] = ValueType;
+                    SlotReaders[i] = CreateSlotReader(ValueType, Slot);
+                    Reorder[i] = ValueType.isPrimitive() ? 0 : 1;
+                    Fields.add(new FieldBinding(ID != null ? ID.value() : (i + 1), Component.getName(), ValueType,
+                            Slot, Lookup.unreflect(Component.getAccessor()), null));
+                }
+
+                MethodHandle Constructor = Lookup.findConstructor(type,
+                        MethodType.methodType(void.class, ParameterTypes));
+                Constructor = MethodHandles.filterArguments(Constructor, 0, SlotReaders);
+                _constructor = MethodHandles.permuteArguments(Constructor,
+                        MethodType.methodType(type, long[].class, Object[].class), Reorder)
+                        .asType(MethodType.methodType(Object.class, long[].class, Object[].class));
+            }
+            else
+            {
+                if (type.isInterface() || type.isArray() || type.isPrimitive() || type.isEnum()
+                        || Modifier.isAbstract(type.getModifiers()))
+                {
+                    throw new GHDFTypeException("Cannot bind %s, only records and concrete classes can be bound."
+                            .formatted(type.getName()));
+                }
+
+                _constructor = GetLookup(type).findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+                for (Class<?> Current = type; Current != Object.class; Current = Current.getSuperclass())
+                {
+                    MethodHandles.Lookup Lookup = GetLookup(Current);
+                    for (Field DeclaredField : Current.getDeclaredFields())
+                    {
+                        GHDFID ID = DeclaredField.getAnnotation(GHDFID.class);
+                        if (ID == null)
+                        {
+                            continue;
+                        }
+                        if (Modifier.isStatic(DeclaredField.getModifiers())
+                                || Modifier.isFinal(DeclaredField.getModifiers()))
+                        {
+                            throw new GHDFTypeException("Cannot bind field %s of %s, it is static or final.".formatted(
+                                    DeclaredField.getName(), type.getName()));
+                        }
+
+                        Class<?> ValueType = DeclaredField.getType();
+                        int Slot = ValueType.isPrimitive() ? PrimitiveCount++ : ObjectCount++;
+                        Fields.add(new FieldBinding(ID.value(), DeclaredField.getName(), ValueType, Slot,
+                                Lookup.unreflectGetter(DeclaredField), Lookup.unreflectSetter(DeclaredField)));
+                    }
+                }
+                if (Fields.isEmpty())
+                {
+                    throw new GHDFTypeException("Cannot bind %s, it has no fields annotated with GHDFID."
+                            .formatted(type.getName()));
+                }
+            }
+        }
+        catch (NoSuchMethodException e)
+        {
+            throw new GHDFTypeException("Cannot bind %s, it has no %s constructor.".formatted(type.getName(),
+                    _isRecord ? "canonical" : "parameterless"));
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new GHDFTypeException("Cannot bind %s: %s".formatted(type.getName(), e.getMessage()));
+        }
+
+        Fields.sort(Comparator.comparingInt(FieldBinding::GetID));
+        _fields = Fields.toArray(new FieldBinding[0]);
+        _ids = new int[_fields.length];
+        for (int i = 0; i < _fields.length; i++)
+        {
+            _ids[i] = _fields[i].GetID();
+            if (_ids[i] == 0)
+            {
+                throw new GHDFTypeException("Cannot bind field %s of %s to the ID 0, invalid ID."
+                        .formatted(_fields[i].GetName(), type.getName()));
+            }
+            if ((i > 0) && (_ids[i] == _ids[i - 1]))
+            {
+                throw new GHDFTypeException("Cannot bind fields %s and %s of %s to the same ID %d.".formatted(
+                        _fields[i - 1].GetName(), _fields[i].GetName(), type.getName(), _ids[i]));
+            }
+        }
+        _primitiveCount = PrimitiveCount;
+        _objectCount = ObjectCount;
+    }
+
+
+    // Static methods.
+    // Bindings are created once per class and are thread-safe.
+    @SuppressWarnings("unchecked")
+    public static <T> GHDFBinding<T> Of(Class<T> type)
+    {
+        if (type == null)
+        {
+            throw new IllegalArgumentException("type is null");
+        }
+        return (GHDFBinding<T>)BINDINGS.get(type);
+    }
+
+
+    // Methods.
+    public byte[] Write(T value) throws IOException
+    {
+        GHDFOutputBuffer Buffer = new GHDFOutputBuffer(BUFFER_SIZE);
+        WriteDocument(Buffer, value);
+        return Buffer.ToArray();
+    }
+
+    public void Write(T value, OutputStream stream) throws IOException
+    {
+        if (stream == null)
+        {
+            throw new IllegalArgumentException("stream is null");
+        }
+
+        GHDFOutputBuffer Buffer = new GHDFOutputBuffer(BUFFER_SIZE);
+        Buffer.SetSink(stream);
+        WriteDocument(Buffer, value);
+        Buffer.Flush();
+    }
+
+    public T Read(byte[] data) throws IOException
+    {
+        if (data == null)
+        {
+            throw new IllegalArgumentException("data is null");
+        }
+        return Read(ByteBuffer.wrap(data));
+    }
+
+    public T Read(InputStream stream) throws IOException
+    {
+        if (stream == null)
+        {
+            throw new IllegalArgumentException("stream is null");
+        }
+        return Read(ByteBuffer.wrap(stream.readAllBytes()));
+    }
+
+
+    // Package-private methods.
+    void WriteObject(GHDFOutputBuffer buffer, Object value) throws Throwable
+    {
+        int EntryCount = 0;
+        for (FieldBinding Field : _fields)
+        {
+            if (Field.IsPresent(value))
+            {
+                EntryCount++;
+            }
+        }
+
+        buffer.Put7BitEncodedInt(EntryCount);
+        for (FieldBinding Field : _fields)
+        {
+            Field.Write(buffer, value);
+        }
+    }
+
+    Object ReadObject(ByteBuffer data, GHDFReaderVersion1 reader) throws Throwable
+    {
+        long[] Primitives = new long[_primitiveCount];
+        Object[] Objects = new Object[_objectCount];
+        Object Value = _isRecord ? null : (Object)_constructor.invokeExact();
+
+        int EntryCount = GHDFReaderVersion1.Read7BitEncodedInt(data);
+        for (int i = 0; i < EntryCount; i++)
+        {
+            int ID = GHDFReaderVersion1.Read7BitEncodedInt(data);
+            GHDFReaderVersion1.VerifyID(ID);
+            GHDFType Type = GHDFReaderVersion1.ReadEntryType(data, ID);
+
+            int Index = Arrays.binarySearch(_ids, ID);
+            if (Index < 0)
+            {
+                reader.SkipEntryValue(data, Type);
+                continue;
+            }
+
+            FieldBinding Field = _fields[Index];
+            Field.Read(data, reader, Type, Primitives, Objects);
+            if (!_isRecord)
+            {
+                Field.Set(Value, Primitives, Objects);
+            }
+        }
+
+        return _isRecord ? (Object)_constructor.invokeExact(Primitives, Objects) : Value;
+    }
+
+
+    // Private static methods.
+    private static GHDFBinding<?> Bind(Class<?> type)
+    {
+        // Nested types are bound together with this one, so unsupported fields anywhere below it are rejected here.
+        // A type already being bound further up is recursive and is skipped. Should binding fail, the bindings built
+        // for nested types may refer back to a type that cannot be bound, so they are dropped again.
+        List<Class<?>> Resolving = RESOLVING.get();
+        Resolving.add(type);
+        boolean IsBound = false;
+        try
+        {
+            GHDFBinding<?> Binding = new GHDFBinding<>(type);
+            for (FieldBinding Field : Binding._fields)
+            {
+                if ((Field.GetNestedType() != null) && !Resolving.contains(Field.GetNestedType()))
+                {
+                    BINDINGS.get(Field.GetNestedType());
+                }
+            }
+            IsBound = true;
+            return Binding;
+        }
+        finally
+        {
+            Resolving.remove(Resolving.size() - 1);
+            List<Class<?>> Resolved = RESOLVED.get();
+            if (!Resolving.isEmpty())
+            {
+                Resolved.add(type);
+            }
+            else
+            {
+                if (!IsBound)
+                {
+                    Resolved.forEach(BINDINGS::remove);
+                }
+                Resolved.clear();
+            }
+        }
+    }
+
+    private static MethodHandles.Lookup GetLookup(Class<?> type) throws IllegalAccessException
+    {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+
+    private static boolean IsBindable(Class<?> type)
+    {
+        if (type.isRecord())
+        {
+            return true;
+        }
+        for (Class<?> Current = type; (Current != null) && (Current != Object.class);
+             Current = Current.getSuperclass())
+        {
+            for (Field DeclaredField : Current.getDeclaredFields())
+            {
+                if (DeclaredField.isAnnotationPresent(GHDFID.class))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static MethodHandle CreateSlotReader(Class<?> type, int slot)
+    {
+        // Floating point values are kept as their raw bits, everything else by a plain primitive cast.
+        if (!type.isPrimitive())
+        {
+            return MethodHandles.insertArguments(OBJECT_SLOT, 1, slot)
+                    .asType(MethodType.methodType(type, Object[].class));
+        }
+
+        MethodHandle Bits = MethodHandles.insertArguments(PRIMITIVE_SLOT, 1, slot);
+        if (type == float.class)
+        {
+            return MethodHandles.filterReturnValue(MethodHandles.explicitCastArguments(Bits,
+                    MethodType.methodType(int.class, long[].class)), INT_BITS_TO_FLOAT);
+        }
+        if (type == double.class)
+        {
+            return MethodHandles.filterReturnValue(Bits, LONG_BITS_TO_DOUBLE);
+        }
+        return MethodHandles.explicitCastArguments(Bits, MethodType.methodType(type, long[].class));
+    }
+
+
+    // Private methods.
+    private void WriteDocument(GHDFOutputBuffer buffer, T value) throws IOException
+    {
+        if (value == null)
+        {
+            throw new IllegalArgumentException("value is null");
+        }
+
+        buffer.PutBytes(GHDF.SIGNATURE);
+        buffer.PutInt(GHDFReaderVersion1.VERSION);
+        try
+        {
+            WriteObject(buffer, value);
+        }
+        catch (IOException | RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new GHDFWriteException("Failed to write %s: %s".formatted(_type.getName(), e));
+        }
+    }
+
+    private T Read(ByteBuffer data) throws IOException
+    {
+        ByteBuffer StreamData = data.order(GHDF.ENDIANNESS);
+        try
+        {
+            GHDFReaderVersion1.VerifySignature(StreamData);
+            int Flags = GHDFReaderVersion1.VerifyVersion(StreamData);
+            ByteBuffer Body = (Flags & GHDF.FLAG_COMPRESSED) != 0 ? READER.Decompress(StreamData)
+                    : StreamData;
+            GHDFReaderVersion1 Reader = (Flags & GHDF.FLAG_STRING_TABLE) != 0
+                    ? READER.CreateDocumentReader(null, READER.ReadStringTable(Body)) : READER;
+
+            T Value = _type.cast(ReadObject(Body, Reader));
+            if ((Body.remaining() > 0) || (StreamData.remaining() > 0))
+            {
+                throw new GHDFReadException("Trailing data detected in GHDF data stream.");
+            }
+            return Value;
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new GHDFReadException("Failed to read GHDF data because it was incomplete.");
+        }
+        catch (IOException | RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new GHDFReadException("Failed to create %s: %s".formatted(_type.getName(), e));
+        }
+    }
+
+
+    // Types.
+    private static final class FieldBinding
+    {
+        // Private fields.
+        private final int _id;
+        private final String _name;
+        private final GHDFType _type;
+        private final Class<?> _nestedType;
+        private final int _slot;
+        private final MethodHandle _getter;
+        private final MethodHandle _setter;
+
+
+        // Constructors.
+        FieldBinding(int id, String name, Class<?> valueType, int slot, MethodHandle getter, MethodHandle setter)
+        {
+            _id = id;
+            _name = name;
+            _slot = slot;
+
+            // Types are resolved here, reading and writing only compare the stored type byte.
+            GHDFType Type = TYPES.get(valueType);
+            Class<?> NestedType = null;
+            if ((Type == null) && IsBindable(valueType))
+            {
+                Type = GHDFType.Compound;
+                NestedType = valueType;
+            }
+            else if ((Type == null) && valueType.isArray() && IsBindable(valueType.getComponentType()))
+            {
+                Type = GHDFType.CompoundArray;
+                NestedType = valueType.getComponentType();
+            }
+            if (Type == null)
+            {
+                throw new GHDFTypeException("Cannot bind field %s, %s has no matching GHDF type."
+                        .formatted(name, valueType.getName()));
+            }
+            _type = Type;
+            _nestedType = NestedType;
+
+            _getter = getter.asType(MethodType.methodType(valueType.isPrimitive() ? valueType : Object.class,
+                    Object.class));
+            if (setter == null)
+            {
+                _setter = null;
+                return;
+            }
+            MethodHandle Setter = MethodHandles.filterArguments(setter, 1, CreateSlotReader(valueType, slot));
+            Setter = valueType.isPrimitive() ? MethodHandles.dropArguments(Setter, 2, Object[].class)
+                    : MethodHandles.dropArguments(Setter, 1, long[].class);
+            _setter = Setter.asType(MethodType.methodType(void.class, Object.class, long[].class, Object[].class));
+        }
+
+
+        // Methods.
+        int GetID()
+        {
+            return _id;
+        }
+
+        String GetName()
+        {
+            return _name;
+        }
+
+        Class<?> GetNestedType()
+        {
+            return _nestedType;
+        }
+
+        boolean IsPresent(Object target) throws Throwable
+        {
+            return GHDFCompound.IsPrimitiveType(_type) || ((Object)_getter.invokeExact(target) != null);
+        }
+
+        void Write(GHDFOutputBuffer buffer, Object target) throws Throwable
+        {
+            if (GHDFCompound.IsPrimitiveType(_type))
+            {
+                buffer.Put7BitEncodedInt(_id);
+                buffer.PutByte(_type.GetByteData());
+            }
+
+            switch (_type)
+            {
+                case Int8 -> buffer.PutByte((byte)_getter.invokeExact(target));
+                case Int16 -> buffer.PutShort((short)_getter.invokeExact(target));
+                case Int32 -> buffer.PutInt((int)_getter.invokeExact(target));
+                case Int64 -> buffer.PutLong((long)_getter.invokeExact(target));
+                case Float -> buffer.PutFloat((float)_getter.invokeExact(target));
+                case Double -> buffer.PutDouble((double)_getter.invokeExact(target));
+                case Boolean -> buffer.PutBoolean((boolean)_getter.invokeExact(target));
+                default -> WriteObject(buffer, (Object)_getter.invokeExact(target));
+            }
+        }
+
+        void Read(ByteBuffer data, GHDFReaderVersion1 reader, GHDFType type, long[] primitives, Object[] objects)
+                throws Throwable
+        {
+            if (GHDFReaderVersion1.GetDecodedType(type) != _type)
+            {
+                throw new GHDFReadException("Entry with ID %d is of type %s, but field %s is bound to %s."
+                        .formatted(_id, type, _name, _type));
+            }
+
+            switch (_type)
+            {
+                case Int8 -> primitives[_slot] = data.get();
+                case Int16 -> primitives[_slot] = data.getShort();
+                case Int32, Float -> primitives[_slot] = data.getInt();
+                case Int64, Double -> primitives[_slot] = data.getLong();
+                case Boolean -> primitives[_slot] = GHDFReaderVersion1.ReadBoolean(data) ? 1L : 0L;
+                default -> objects[_slot] = ReadObject(data, reader, type);
+            }
+        }
+
+        void Set(Object target, long[] primitives, Object[] objects) throws Throwable
+        {
+            _setter.invokeExact(target, primitives, objects);
+        }
+
+
+        // Private methods.
+        private void WriteObject(GHDFOutputBuffer buffer, Object value) throws Throwable
+        {
+            if (value == null)
+            {
+                return;
+            }
+
+            buffer.Put7BitEncodedInt(_id);
+            buffer.PutByte(_type.GetByteData());
+            if (_nestedType == null)
+            {
+                WRITER.WriteValue(buffer, value, _type);
+                return;
+            }
+
+            GHDFBinding<?> Binding = Of(_nestedType);
+            if (_type == GHDFType.Compound)
+            {
+                Binding.WriteObject(buffer, value);
+                return;
+            }
+
+            Object[] Elements = (Object[])value;
+            buffer.Put7BitEncodedInt(Elements.length);
+            for (Object Element : Elements)
+            {
+                if (Element == null)
+                {
+                    throw new GHDFWriteException("Cannot write null element in compound array of field %s."
+                            .formatted(_name));
+                }
+                Binding.WriteObject(buffer, Element);
+            }
+        }
+
+        private Object ReadObject(ByteBuffer data, GHDFReaderVersion1 reader, GHDFType type) throws Throwable
+        {
+            if (_nestedType == null)
+            {
+                return reader.ReadValue(data, type);
+            }
+
+            GHDFBinding<?> Binding = Of(_nestedType);
+            if (_type == GHDFType.Compound)
+            {
+                return Binding.ReadObject(data, reader);
+            }
+
+            // Every compound takes at least one byte, which bounds the array before it is allocated.
+            int Length = GHDFReaderVersion1.GetArrayLength(data);
+            if (Length > data.remaining())
+            {
+                throw new BufferUnderflowException();
+            }
+            Object[] Values = (Object[])Array.newInstance(_nestedType, Length);
+            for (int i = 0; i < Length; i++)
+            {
+                Values[i] = Binding.ReadObject(data, reader);
+            }
+            return Values;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+class GHDFBlockInputStream extends InputStream
+{
+    // Private fields.
+    private final InputStream _source;
+    private final IGHDFCompressionCodec _codec;
+    private final ByteBuffer _header = ByteBuffer.allocate(GHDFCompression.BLOCK_HEADER_SIZE)
+            .order(GHDF.ENDIANNESS);
+    private byte[] _storedBlock = new byte[0];
+    private byte[] _block = new byte[0];
+    private int _position = 0;
+    private int _length = 0;
+    private boolean _isFinished = false;
+    private long _sourceByteCount = 0L;
+
+
+    // Constructors.
+    GHDFBlockInputStream(InputStream source, IGHDFCompressionCodec codec)
+    {
+        _source = source;
+        _codec = codec;
+    }
+
+
+    // Inherited methods.
+    @Override
+    public int read() throws IOException
+    {
+        if ((_position == _length) && !ReadBlock())
+        {
+            return -1;
+        }
+        return _block[_position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] destination, int offset, int length) throws IOException
+    {
+        if (length == 0)
+        {
+            return 0;
+        }
+        if ((_position == _length) && !ReadBlock())
+        {
+            return -1;
+        }
+
+        int Count = Math.min(length, _length - _position);
+        System.arraycopy(_block, _position, destination, offset, Count);
+        _position += Count;
+        return Count;
+    }
+
+    @Override
+    public int available()
+    {
+        return _length - _position;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        _source.close();
+    }
+
+
+    // Methods.
+    long GetSourceByteCount()
+    {
+        return _sourceByteCount;
+    }
+
+
+    // Private methods.
+    private boolean ReadBlock() throws IOException
+    {
+        if (_isFinished)
+        {
+            return false;
+        }
+
+        ReadFully(_header.array(), GHDFCompression.BLOCK_HEADER_SIZE);
+        int RawLength = _header.getInt(0);
+        int StoredLength = _header.getInt(Integer.BYTES);
+        if (RawLength == 0)
+        {
+            _isFinished = true;
+            if (_source.read() != -1)
+            {
+                throw new GHDFReadException("Trailing data detected in GHDF data stream.");
+            }
+            return false;
+        }
+        GHDFCompression.VerifyBlockHeader(RawLength, StoredLength);
+
+        if (_storedBlock.length < StoredLength)
+        {
+            _storedBlock = new byte[StoredLength];
+        }
+        if (_block.length < RawLength)
+        {
+            _block = new byte[RawLength];
+        }
+        ReadFully(_storedBlock, StoredLength);
+        GHDFCompression.DecompressBlock(_codec, ByteBuffer.wrap(_storedBlock, 0, StoredLength), _block, 0,
+                RawLength);
+        _position = 0;
+        _length = RawLength;
+        return true;
+    }
+
+    private void ReadFully(byte[] destination, int length) throws IOException
+    {
+        if (_source.readNBytes(destination, 0, length) != length)
+        {
+            throw new GHDFReadException("Failed to read GHDF data because it was incomplete.");
+        }
+        _sourceByteCount += length;
+    }
+}
@@ -0,0 +1,125 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+class GHDFBlockOutputStream extends OutputStream
+{
+    // Private fields.
+    private final OutputStream _target;
+    private final IGHDFCompressionCodec _codec;
+    private final byte[] _block;
+    private final byte[] _compressedBlock;
+    private final byte[] _header = new byte[GHDFCompression.BLOCK_HEADER_SIZE];
+    private final GHDFStatistics _statistics;
+    private int _position = 0;
+
+
+    // Constructors.
+    GHDFBlockOutputStream(OutputStream target, IGHDFCompressionCodec codec, int blockSize,
+                          GHDFStatistics statistics)
+    {
+        _statistics = statistics;
+        _target = target;
+        _codec = codec;
+        _block = new byte[blockSize];
+        _compressedBlock = new byte[blockSize];
+    }
+
+
+    // Methods.
+    void Finish() throws IOException
+    {
+        WriteBlock();
+        long Time = _statistics != null ? System.nanoTime() : 0L;
+        WriteHeader(0, 0);
+        _target.flush();
+        if (_statistics != null)
+        {
+            _statistics.AddFlushNanos(Time);
+        }
+    }
+
+
+    // Inherited methods.
+    @Override
+    public void write(int value) throws IOException
+    {
+        if (_position == _block.length)
+        {
+            WriteBlock();
+        }
+        _block[_position++] = (byte)value;
+    }
+
+    @Override
+    public void write(byte[] values, int offset, int length) throws IOException
+    {
+        while (length > 0)
+        {
+            if (_position == _block.length)
+            {
+                WriteBlock();
+            }
+            int Count = Math.min(length, _block.length - _position);
+            System.arraycopy(values, offset, _block, _position, Count);
+            _position += Count;
+            offset += Count;
+            length -= Count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        _target.flush();
+    }
+
+
+    // Private methods.
+    private void WriteBlock() throws IOException
+    {
+        if (_position == 0)
+        {
+            return;
+        }
+
+        // Blocks which do not shrink are stored as-is, marked by a stored length equal to the raw length.
+        long Time = _statistics != null ? System.nanoTime() : 0L;
+        int CompressedLength = _codec.Compress(_block, 0, _position, _compressedBlock);
+        if (_statistics != null)
+        {
+            Time = _statistics.AddCompressionNanos(Time);
+        }
+
+        if ((CompressedLength > 0) && (CompressedLength < _position))
+        {
+            WriteHeader(_position, CompressedLength);
+            _target.write(_compressedBlock, 0, CompressedLength);
+        }
+        else
+        {
+            WriteHeader(_position, _position);
+            _target.write(_block, 0, _position);
+        }
+        if (_statistics != null)
+        {
+            _statistics.AddFlushNanos(Time);
+        }
+        _position = 0;
+    }
+
+    private void WriteHeader(int rawLength, int storedLength) throws IOException
+    {
+        for (int i = 0; i < Integer.BYTES; i++)
+        {
+            _header[i] = (byte)(rawLength >> (i * 8));
+            _header[Integer.BYTES + i] = (byte)(storedLength >> (i * 8));
+        }
+        _target.write(_header);
+        if (_statistics != null)
+        {
+            _statistics.AddBytes(_header.length + storedLength);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package sus.keiger.ghdf;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+public final class GHDFColumns
+{
+    // Private static fields.
+    private static final int[] EMPTY_IDS = new int[0];
+    private static final GHDFType[] EMPTY_TYPES = new GHDFType[0];
+    private static final Object[] EMPTY_COLUMNS = new Object[0];
+
+
+    // Private fields.
+    private final int _rowCount;
+    private int[] _ids = EMPTY_IDS;
+    private GHDFType[] _types = EMPTY_TYPES;
+    private Object[] _columns = EMPTY_COLUMNS;
+
+
+    // Constructors.
+    public GHDFColumns(int rowCount)
+    {
+        if (rowCount < 0)
+        {
+            throw new IllegalArgumentException("rowCount is negative");
+        }
+        _rowCount = rowCount;
+    }
+
+    GHDFColumns(int rowCount, int[] ids, GHDFType[] types, Object[] columns)
+    {
+        _rowCount = rowCount;
+        _ids = ids;
+        _types = types;
+        _columns = columns;
+    }
+
+
+    // Static methods.
+    public static GHDFColumns FromCompounds(GHDFCompound[] rows)
+    {
+        if (rows == null)
+        {
+            throw new IllegalArgumentException("rows is null");
+        }
+
+        // The first row decides the columns, every other row needs the same IDs with the same types.
+        GHDFColumns Columns = new GHDFColumns(rows.length);
+        if (rows.length == 0)
+        {
+            return Columns;
+        }
+
+        GHDFCompound FirstRow = rows[0];
+        int ColumnCount = FirstRow.Size();
+        Columns._ids = new int[ColumnCount];
+        Columns._types = new GHDFType[ColumnCount];
+        Columns._columns = new Object[ColumnCount];
+        for (int i = 0; i < ColumnCount; i++)
+        {
+            GHDFType Type = GHDFReaderVersion1.GetDecodedType(FirstRow.GetTypeAt(i));
+            if (!IsColumnType(Type))
+            {
+                throw new GHDFEntryException("Cannot store entries of type %s in columns.".formatted(Type));
+            }
+            Columns._ids[i] = FirstRow.GetIDAt(i);
+            Columns._types[i] = Type;
+            Columns._columns[i] = CreateColumn(Type, rows.length);
+        }
+
+        for (int Row = 0; Row < rows.length; Row++)
+        {
+            GHDFCompound Compound = rows[Row];
+            if (Compound.Size() != ColumnCount)
+            {
+                throw new GHDFEntryException("Row %d has %d entries, expected %d.".formatted(
+                        Row, Compound.Size(), ColumnCount));
+            }
+            for (int i = 0; i < ColumnCount; i++)
+            {
+                int Index = Compound.GetIndexOf(Columns._ids[i]);
+                if ((Index < 0)
+                        || (GHDFReaderVersion1.GetDecodedType(Compound.GetTypeAt(Index)) != Columns._types[i]))
+                {
+                    throw new GHDFEntryException("Row %d has no entry of type %s with ID %d.".formatted(
+                            Row, Columns._types[i], Columns._ids[i]));
+                }
+                Columns.SetValue(i, Row, Compound, Index);
+            }
+        }
+        return Columns;
+    }
+
+
+    // Methods.
+    public void SetColumn(int id, Object values)
+    {
+        if (id == 0)
+        {
+            throw new GHDFEntryException("An entry with the ID 0 is not allowed");
+        }
+        if (values == null)
+        {
+            throw new IllegalArgumentException("values is null");
+        }
+
+        GHDFType Type = GetColumnType(values);
+        if (Array.getLength(values) != _rowCount)
+        {
+            throw new GHDFEntryException("Column with ID %d has %d values, expected %d.".formatted(
+                    id, Array.getLength(values), _rowCount));
+        }
+        if ((values instanceof String[] Strings) && Arrays.asList(Strings).contains(null))
+        {
+            throw new GHDFEntryException("Column with ID %d contains null.".formatted(id));
+        }
+
+        int Index = FindColumn(id);
+        if (Index < 0)
+        {
+            Index = _ids.length;
+            _ids = Arrays.copyOf(_ids, Index + 1);
+            _types = Arrays.copyOf(_types, Index + 1);
+            _columns = Arrays.copyOf(_columns, Index + 1);
+            _ids[Index] = id;
+        }
+        _types[Index] = Type;
+        _columns[Index] = values;
+    }
+
+    public void RemoveColumn(int id)
+    {
+        int Index = FindColumn(id);
+        if (Index < 0)
+        {
+            return;
+        }
+
+        int Remaining = _ids.length - Index - 1;
+        System.arraycopy(_ids, Index + 1, _ids, Index, Remaining);
+        System.arraycopy(_types, Index + 1, _types, Index, Remaining);
+        System.arraycopy(_columns, Index + 1, _columns, Index, Remaining);
+        _ids = Arrays.copyOf(_ids, _ids.length - 1);
+        _types = Arrays.copyOf(_types, _types.length - 1);
+        _columns = Arrays.copyOf(_columns, _columns.length - 1);
+    }
+
+    public int GetRowCount()
+    {
+        return _rowCount;
+    }
+
+    public int[] GetIDs()
+    {
+        return _ids.clone();
+    }
+
+    public boolean HasColumn(int id)
+    {
+        return FindColumn(id) >= 0;
+    }
+
+    public GHDFType GetTypeOfColumn(int id)
+    {
+        int Index = FindColumn(id);
+        return Index < 0 ? null : _types[Index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T GetColumn(int id)
+    {
+        int Index = FindColumn(id);
+        return Index < 0 ? null : (T)_columns[Index];
+    }
+
+    public byte[] GetByteColumn(int id)
+    {
+        return (byte[])GetVerifiedColumn(id, GHDFType.Int8);
+    }
+
+    public short[] GetShortColumn(int id)
+    {
+        return (short[])GetVerifiedColumn(id, GHDFType.Int16);
+    }
+
+    public int[] GetIntColumn(int id)
+    {
+        return (int[])GetVerifiedColumn(id, GHDFType.Int32);
+    }
+
+    public long[] GetLongColumn(int id)
+    {
+        return (long[])GetVerifiedColumn(id, GHDFType.Int64);
+    }
+
+    public float[] GetFloatColumn(int id)
+    {
+        return (float[])GetVerifiedColumn(id, GHDFType.Float);
+    }
+
+    public double[] GetDoubleColumn(int id)
+    {
+        return (double[])GetVerifiedColumn(id, GHDFType.Double);
+    }
+
+    public boolean[] GetBooleanColumn(int id)
+    {
+        return (boolean[])GetVerifiedColumn(id, GHDFType.Boolean);
+    }
+
+    public String[] GetStringColumn(int id)
+    {
+        return (String[])GetVerifiedColumn(id, GHDFType.String);
+    }
+
+    public GHDFCompound[] ToCompounds()
+    {
+        GHDFCompound[] Rows = new GHDFCompound[_rowCount];
+        for (int Row = 0; Row < _rowCount; Row++)
+        {
+            GHDFCompound Compound = new GHDFCompound();
+            for (int i = 0; i < _ids.length; i++)
+            {
+                if (_types[i] == GHDFType.String)
+                {
+                    Compound.SetObject(_ids[i], GHDFType.String, ((String[])_columns[i])[Row]);
+                }
+                else
+                {
+                    Compound.SetPrimitive(_ids[i], _types[i], GetBits(i, Row));
+                }
+            }
+            Rows[Row] = Compound;
+        }
+        return Rows;
+    }
+
+
+    // Package-private methods.
+    int GetColumnCount()
+    {
+        return _ids.length;
+    }
+
+    int GetIDAt(int index)
+    {
+        return _ids[index];
+    }
+
+    GHDFType GetTypeAt(int index)
+    {
+        return _types[index];
+    }
+
+    Object GetColumnAt(int index)
+    {
+        return _columns[index];
+    }
+
+    long GetBits(int index, int row)
+    {
+        Object Column = _columns[index];
+        return switch (_types[index])
+        {
+            case Int8 -> ((byte[])Column)[row];
+            case Int16 -> ((short[])Column)[row];
+            case Int32 -> ((int[])Column)[row];
+            case Int64 -> ((long[])Column)[row];
+            case Float -> Float.floatToRawIntBits(((float[])Column)[row]);
+            case Double -> Double.doubleToRawLongBits(((double[])Column)[row]);
+            default -> ((boolean[])Column)[row] ? 1L : 0L;
+        };
+    }
+
+    static boolean IsColumnType(GHDFType type)
+    {
+        return GHDFCompound.IsPrimitiveType(type) || (type == GHDFType.String);
+    }
+
+    static Object CreateColumn(GHDFType type, int rowCount)
+    {
+        return switch (type)
+        {
+            case Int8, UInt8 -> new byte[rowCount];
+            case Int16, UInt16 -> new short[rowCount];
+            case Int32, UInt32 -> new int[rowCount];
+            case Int64, UInt64 -> new long[rowCount];
+            case Float -> new float[rowCount];
+            case Double -> new double[rowCount];
+            case Boolean -> new boolean[rowCount];
+            default -> new String[rowCount];
+        };
+    }
+
+
+    // Private static methods.
+    private static GHDFType GetColumnType(Object values)
+    {
+        if (values instanceof byte[])
+        {
+            return GHDFType.Int8;
+        }
+        if (values instanceof short[])
+        {
+            return GHDFType.Int16;
+        }
+        if (values instanceof int[])
+        {
+            return GHDFType.Int32;
+        }
+        if (values instanceof long[])
+        {
+            return GHDFType.Int64;
+        }
+        if (values instanceof float[])
+        {
+            return GHDFType.Float;
+        }
+        if (values instanceof double[])
+        {
+            return GHDFType.Double;
+        }
+        if (values instanceof boolean[])
+        {
+            return GHDFType.Boolean;
+        }
+        if (values instanceof String[])
+        {
+            return GHDFType.String;
+        }
+        throw new GHDFEntryException("Invalid column type: %s".formatted(values.getClass().toString()));
+    }
+
+
+    // Private methods.
+    private int FindColumn(int id)
+    {
+        for (int i = 0; i < _ids.length; i++)
+        {
+            if (_ids[i] == id)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object GetVerifiedColumn(int id, GHDFType type)
+    {
+        int Index = FindColumn(id);
+        if (Index < 0)
+        {
+            throw new GHDFEntryException("Mandatory column of type %s with id %d not found"
+                    .formatted(type.toString(), id));
+        }
+        if (_types[Index] != type)
+        {
+            throw new GHDFEntryException("Column with id %d is of type %s, expected %s"
+                    .formatted(id, _types[Index].toString(), type.toString()));
+        }
+        return _columns[Index];
+    }
+
+    private void SetValue(int index, int row, GHDFCompound compound, int compoundIndex)
+    {
+        Object Column = _columns[index];
+        long Bits = compound.GetPrimitiveAt(compoundIndex);
+        switch (_types[index])
+        {
+            case Int8 -> ((byte[])Column)[row] = (byte)Bits;
+            case Int16 -> ((short[])Column)[row] = (short)Bits;
+            case Int32 -> ((int[])Column)[row] = (int)Bits;
+            case Int64 -> ((long[])Column)[row] = Bits;
+            case Float -> ((float[])Column)[row] = Float.intBitsToFloat((int)Bits);
+            case Double -> ((double[])Column)[row] = Double.longBitsToDouble(Bits);
+            case Boolean -> ((boolean[])Column)[row] = Bits != 0L;
+            default -> ((String[])Column)[row] = (String)compound.GetObjectAt(compoundIndex);
+        }
+    }
+}
@@ -1,24 +1,143 @@
 package sus.keiger.ghdf;
 
+import java.nio.*;
 import java.util.*;
 
 public class GHDFCompound
 {
+    // Private static fields.
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int[] EMPTY_IDS = new int[0];
+    private static final GHDFType[] EMPTY_TYPES = new GHDFType[0];
+    private static final long[] EMPTY_PRIMITIVES = new long[0];
+    private static final Object[] EMPTY_OBJECTS = new Object[0];
+    private static final int[] EMPTY_SLOTS = new int[1];
+
+    private static final Map<Class<?>, GHDFType> VALUE_TYPES = Map.ofEntries(
+            Map.entry(Byte.class, GHDFType.Int8),
+            Map.entry(Short.class, GHDFType.Int16),
+            Map.entry(Integer.class, GHDFType.Int32),
+            Map.entry(Long.class, GHDFType.Int64),
+            Map.entry(Float.class, GHDFType.Float),
+            Map.entry(Double.class, GHDFType.Double),
+            Map.entry(Boolean.class, GHDFType.Boolean),
+            Map.entry(String.class, GHDFType.String),
+            Map.entry(GHDFCompound.class, GHDFType.Compound),
+            Map.entry(byte[].class, GHDFType.Int8Array),
+            Map.entry(short[].class, GHDFType.Int16Array),
+            Map.entry(int[].class, GHDFType.Int32Array),
+            Map.entry(long[].class, GHDFType.Int64Array),
+            Map.entry(float[].class, GHDFType.FloatArray),
+            Map.entry(double[].class, GHDFType.DoubleArray),
+            Map.entry(boolean[].class, GHDFType.BooleanArray),
+            Map.entry(String[].class, GHDFType.StringArray),
+            Map.entry(GHDFCompound[].class, GHDFType.CompoundArray));
+
+
     // Private fields.
-    private final Map<Integer, GHDFEntry> _entries = new HashMap<>();
+    // Entries are stored densely, _slots is an open addressing index holding (entry index + 1) or 0 if empty.
+    private int[] _ids = EMPTY_IDS;
+    private GHDFType[] _types = EMPTY_TYPES;
+    private long[] _primitives = EMPTY_PRIMITIVES;
+    private Object[] _objects = EMPTY_OBJECTS;
+    private int[] _slots = EMPTY_SLOTS;
+    private int _size = 0;
+    private int _modificationCount = 0;
+    private long _cachedFlatSize = -1L;
+    private Set<Integer> _changedIDs = null;
 
 
     // Methods.
     public void SetEntry(int id, Object value)
     {
         VerifyID(id);
-        _entries.put(id, new GHDFEntry(value));
+        GHDFType Type = GetValueType(value);
+        int Index = GetOrCreateIndex(id);
+        _types[Index] = Type;
+        _cachedFlatSize = -1L;
+        if (_changedIDs != null)
+        {
+            MarkChanged(id);
+            SetNestedChangeTracking(value, true);
+        }
+
+        switch (Type)
+        {
+            case Int8 -> SetPrimitiveAt(Index, (byte)value);
+            case Int16 -> SetPrimitiveAt(Index, (short)value);
+            case Int32 -> SetPrimitiveAt(Index, (int)value);
+            case Int64 -> SetPrimitiveAt(Index, (long)value);
+            case Float -> SetPrimitiveAt(Index, Float.floatToRawIntBits((float)value));
+            case Double -> SetPrimitiveAt(Index, Double.doubleToRawLongBits((double)value));
+            case Boolean -> SetPrimitiveAt(Index, (boolean)value ? 1L : 0L);
+            default -> _objects[Index] = value;
+        }
+    }
+
+    public void SetByte(int id, byte value)
+    {
+        SetPrimitive(id, GHDFType.Int8, value);
+    }
+
+    public void SetShort(int id, short value)
+    {
+        SetPrimitive(id, GHDFType.Int16, value);
+    }
+
+    public void SetInt(int id, int value)
+    {
+        SetPrimitive(id, GHDFType.Int32, value);
+    }
+
+    public void SetLong(int id, long value)
+    {
+        SetPrimitive(id, GHDFType.Int64, value);
+    }
+
+    public void SetFloat(int id, float value)
+    {
+        SetPrimitive(id, GHDFType.Float, Float.floatToRawIntBits(value));
+    }
+
+    public void SetDouble(int id, double value)
+    {
+        SetPrimitive(id, GHDFType.Double, Double.doubleToRawLongBits(value));
+    }
+
+    public void SetBoolean(int id, boolean value)
+    {
+        SetPrimitive(id, GHDFType.Boolean, value ? 1L : 0L);
     }
 
     public void RemoveEntry(int id)
     {
         VerifyID(id);
-        _entries.remove(id);
+        int Slot = FindSlot(id);
+        if (_slots[Slot] == 0)
+        {
+            return;
+        }
+
+        int Index = _slots[Slot] - 1;
+        DeleteSlot(Slot);
+        _cachedFlatSize = -1L;
+        if (_changedIDs != null)
+        {
+            MarkChanged(id);
+        }
+
+        _modificationCount++;
+        int LastIndex = --_size;
+        if (Index != LastIndex)
+        {
+            _ids[Index] = _ids[LastIndex];
+            _types[Index] = _types[LastIndex];
+            _primitives[Index] = _primitives[LastIndex];
+            _objects[Index] = _objects[LastIndex];
+            _slots[FindSlot(_ids[Index])] = Index + 1;
+        }
+        _types[LastIndex] = null;
+        _objects[LastIndex] = null;
     }
 
     public <T> T GetEntry(int id)
@@ -41,45 +160,394 @@ public class GHDFCompound
         return GetEntry(id, null, expectedType, false);
     }
 
-    public void Clear()
+    public byte GetByte(int id)
     {
-        _entries.clear();
+        return (byte)GetPrimitive(id, GHDFType.Int8);
     }
 
-    public GHDFType GetTypeOfEntry(int id)
+    public byte GetByteOrElse(int id, byte elseValue)
+    {
+        int Index = FindPrimitive(id, GHDFType.Int8);
+        return Index < 0 ? elseValue : (byte)_primitives[Index];
+    }
+
+    public short GetShort(int id)
+    {
+        return (short)GetPrimitive(id, GHDFType.Int16);
+    }
+
+    public short GetShortOrElse(int id, short elseValue)
+    {
+        int Index = FindPrimitive(id, GHDFType.Int16);
+        return Index < 0 ? elseValue : (short)_primitives[Index];
+    }
+
+    public int GetInt(int id)
+    {
+        return (int)GetPrimitive(id, GHDFType.Int32);
+    }
+
+    public int GetIntOrElse(int id, int elseValue)
+    {
+        int Index = FindPrimitive(id, GHDFType.Int32);
+        return Index < 0 ? elseValue : (int)_primitives[Index];
+    }
+
+    public long GetLong(int id)
+    {
+        return GetPrimitive(id, GHDFType.Int64);
+    }
+
+    public long GetLongOrElse(int id, long elseValue)
+    {
+        int Index = FindPrimitive(id, GHDFType.Int64);
+        return Index < 0 ? elseValue : _primitives[Index];
+    }
+
+    public float GetFloat(int id)
+    {
+        return Float.intBitsToFloat((int)GetPrimitive(id, GHDFType.Float));
+    }
+
+    public float GetFloatOrElse(int id, float elseValue)
+    {
+        int Index = FindPrimitive(id, GHDFType.Float);
+        return Index < 0 ? elseValue : Float.intBitsToFloat((int)_primitives[Index]);
+    }
+
+    public double GetDouble(int id)
+    {
+        return Double.longBitsToDouble(GetPrimitive(id, GHDFType.Double));
+    }
+
+    public double GetDoubleOrElse(int id, double elseValue)
+    {
+        int Index = FindPrimitive(id, GHDFType.Double);
+        return Index < 0 ? elseValue : Double.longBitsToDouble(_primitives[Index]);
+    }
+
+    public boolean GetBoolean(int id)
+    {
+        return GetPrimitive(id, GHDFType.Boolean) != 0L;
+    }
+
+    public boolean GetBooleanOrElse(int id, boolean elseValue)
+    {
+        int Index = FindPrimitive(id, GHDFType.Boolean);
+        return Index < 0 ? elseValue : _primitives[Index] != 0L;
+    }
+
+    public ByteBuffer GetByteArrayView(int id)
+    {
+        Object Value = GetArrayObject(id, GHDFType.Int8Array);
+        return Value instanceof GHDFArrayView View ? View.GetData()
+                : ByteBuffer.wrap((byte[])Value).asReadOnlyBuffer();
+    }
+
+    public ShortBuffer GetShortArrayView(int id)
+    {
+        Object Value = GetArrayObject(id, GHDFType.Int16Array);
+        return Value instanceof GHDFArrayView View ? View.GetData().asShortBuffer()
+                : ShortBuffer.wrap((short[])Value).asReadOnlyBuffer();
+    }
+
+    public IntBuffer GetIntArrayView(int id)
+    {
+        Object Value = GetArrayObject(id, GHDFType.Int32Array);
+        return Value instanceof GHDFArrayView View ? View.GetData().asIntBuffer()
+                : IntBuffer.wrap((int[])Value).asReadOnlyBuffer();
+    }
+
+    public LongBuffer GetLongArrayView(int id)
     {
-        GHDFEntry Entry = _entries.get(id);
-        if (Entry == null)
+        Object Value = GetArrayObject(id, GHDFType.Int64Array);
+        return Value instanceof GHDFArrayView View ? View.GetData().asLongBuffer()
+                : LongBuffer.wrap((long[])Value).asReadOnlyBuffer();
+    }
+
+    public FloatBuffer GetFloatArrayView(int id)
+    {
+        Object Value = GetArrayObject(id, GHDFType.FloatArray);
+        return Value instanceof GHDFArrayView View ? View.GetData().asFloatBuffer()
+                : FloatBuffer.wrap((float[])Value).asReadOnlyBuffer();
+    }
+
+    public DoubleBuffer GetDoubleArrayView(int id)
+    {
+        Object Value = GetArrayObject(id, GHDFType.DoubleArray);
+        return Value instanceof GHDFArrayView View ? View.GetData().asDoubleBuffer()
+                : DoubleBuffer.wrap((double[])Value).asReadOnlyBuffer();
+    }
+
+    public GHDFColumns GetColumns(int id)
+    {
+        Object Value = GetArrayObject(id, GHDFType.CompoundArray);
+        return Value instanceof GHDFColumns Columns ? Columns : GHDFColumns.FromCompounds((GHDFCompound[])Value);
+    }
+
+    public void Clear()
+    {
+        if (_changedIDs != null)
         {
-            return null;
+            for (int i = 0; i < _size; i++)
+            {
+                MarkChanged(_ids[i]);
+            }
         }
-        return Entry.Type;
+        Arrays.fill(_slots, 0);
+        Arrays.fill(_types, 0, _size, null);
+        Arrays.fill(_objects, 0, _size, null);
+        _size = 0;
+        _modificationCount++;
+        _cachedFlatSize = -1L;
+    }
+
+    public GHDFType GetTypeOfEntry(int id)
+    {
+        int Index = FindIndex(id);
+        return Index < 0 ? null : _types[Index];
     }
 
     public Set<Integer> GetIDs()
     {
-        return _entries.keySet();
+        return new IDSet();
     }
 
     public List<Object> GetValues()
     {
-        return _entries.values().stream().map(entry -> entry.Value).toList();
+        List<Object> Values = new ArrayList<>(_size);
+        for (int i = 0; i < _size; i++)
+        {
+            Values.add(GetValueAt(i));
+        }
+        return Values;
     }
 
     public int Size()
     {
-        return _entries.size();
+        return _size;
+    }
+
+    public void SetChangeTrackingEnabled(boolean value)
+    {
+        // Nested compounds track their own changes, a change is found by walking down from the root.
+        if (value == (_changedIDs != null))
+        {
+            return;
+        }
+        _changedIDs = value ? new HashSet<>() : null;
+        for (int i = 0; i < _size; i++)
+        {
+            SetNestedChangeTracking(_objects[i], value);
+        }
+    }
+
+    public boolean IsChangeTrackingEnabled()
+    {
+        return _changedIDs != null;
+    }
+
+    public boolean HasChanges()
+    {
+        if (_changedIDs == null)
+        {
+            return false;
+        }
+        if (!_changedIDs.isEmpty())
+        {
+            return true;
+        }
+        for (int i = 0; i < _size; i++)
+        {
+            if (HasNestedChanges(_objects[i]))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void ClearChanges()
+    {
+        if (_changedIDs == null)
+        {
+            return;
+        }
+        _changedIDs.clear();
+        for (int i = 0; i < _size; i++)
+        {
+            if (_objects[i] instanceof GHDFCompound Compound)
+            {
+                Compound.ClearChanges();
+            }
+            else if (_objects[i] instanceof GHDFCompound[] Array)
+            {
+                for (GHDFCompound Element : Array)
+                {
+                    if (Element != null)
+                    {
+                        Element.ClearChanges();
+                    }
+                }
+            }
+        }
+    }
+
+
+    // Package-private methods.
+    void SetLazyEntry(int id, GHDFType type, GHDFLazyValue value)
+    {
+        VerifyID(id);
+        int Index = GetOrCreateIndex(id);
+        _types[Index] = type;
+        _objects[Index] = value;
+        _cachedFlatSize = -1L;
+        if (_changedIDs != null)
+        {
+            MarkChanged(id);
+        }
+    }
+
+    void SetPrimitive(int id, GHDFType type, long bits)
+    {
+        VerifyID(id);
+        int Index = GetOrCreateIndex(id);
+        _types[Index] = type;
+        SetPrimitiveAt(Index, bits);
+        _cachedFlatSize = -1L;
+        if (_changedIDs != null)
+        {
+            MarkChanged(id);
+        }
+    }
+
+    void SetObject(int id, GHDFType type, Object value)
+    {
+        VerifyID(id);
+        int Index = GetOrCreateIndex(id);
+        _types[Index] = type;
+        _objects[Index] = value;
+        _cachedFlatSize = -1L;
+        if (_changedIDs != null)
+        {
+            MarkChanged(id);
+            SetNestedChangeTracking(value, true);
+        }
+    }
+
+    int GetIndexOf(int id)
+    {
+        return FindIndex(id);
+    }
+
+    boolean IsLazyAt(int index)
+    {
+        return _objects[index] instanceof GHDFLazyValue;
+    }
+
+    Set<Integer> GetChangedIDs()
+    {
+        return _changedIDs != null ? _changedIDs : Set.of();
+    }
+
+    int GetIDAt(int index)
+    {
+        return _ids[index];
+    }
+
+    GHDFType GetTypeAt(int index)
+    {
+        return _types[index];
+    }
+
+    long GetPrimitiveAt(int index)
+    {
+        return _primitives[index];
+    }
+
+    Object GetObjectAt(int index)
+    {
+        Object Value = _objects[index];
+        if (Value instanceof GHDFLazyValue LazyValue)
+        {
+            Value = LazyValue.Decode();
+            _objects[index] = Value;
+            if (_changedIDs != null)
+            {
+                SetNestedChangeTracking(Value, true);
+            }
+        }
+        return Value;
+    }
+
+    long GetCachedFlatSize()
+    {
+        return _cachedFlatSize;
+    }
+
+    void SetCachedFlatSize(long size)
+    {
+        _cachedFlatSize = size;
+    }
+
+    static boolean IsPrimitiveType(GHDFType type)
+    {
+        return !type.IsArray() && (type != GHDFType.String) && (type != GHDFType.Compound);
+    }
+
+
+    // Private static methods.
+    private static void SetNestedChangeTracking(Object value, boolean isEnabled)
+    {
+        if (value instanceof GHDFCompound Compound)
+        {
+            Compound.SetChangeTrackingEnabled(isEnabled);
+        }
+        else if (value instanceof GHDFCompound[] Array)
+        {
+            for (GHDFCompound Element : Array)
+            {
+                if (Element != null)
+                {
+                    Element.SetChangeTrackingEnabled(isEnabled);
+                }
+            }
+        }
+    }
+
+    private static boolean HasNestedChanges(Object value)
+    {
+        if (value instanceof GHDFCompound Compound)
+        {
+            return Compound.HasChanges();
+        }
+        if (value instanceof GHDFCompound[] Array)
+        {
+            for (GHDFCompound Element : Array)
+            {
+                if ((Element != null) && Element.HasChanges())
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
 
     // Private methods.
+    private void MarkChanged(int id)
+    {
+        _changedIDs.add(id);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T GetEntry(int id, T elseValue, GHDFType expectedType, boolean isMandatory)
     {
         VerifyID(id);
-        GHDFEntry Entry = _entries.get(id);
+        int Index = FindIndex(id);
 
-        if (Entry == null)
+        if (Index < 0)
         {
             if (isMandatory && (expectedType != null))
             {
@@ -91,19 +559,203 @@ public class GHDFCompound
 
         try
         {
-            return (T)Entry.Value;
+            return (T)GetValueAt(Index);
         }
         catch (ClassCastException e)
         {
             if ( expectedType != null)
             {
                 throw new GHDFEntryException("Mandatory entry with id %d is of wrong type. Got %s, expected %s."
-                        .formatted(id, Entry.Type.toString(), expectedType.toString()));
+                        .formatted(id, _types[Index].toString(), expectedType.toString()));
             }
             return elseValue;
         }
     }
 
+    private Object GetValueAt(int index)
+    {
+        long Bits = _primitives[index];
+        return switch (_types[index])
+        {
+            case Int8, UInt8 -> (byte)Bits;
+            case Int16, UInt16 -> (short)Bits;
+            case Int32, UInt32 -> (int)Bits;
+            case Int64, UInt64 -> Bits;
+            case Float -> Float.intBitsToFloat((int)Bits);
+            case Double -> Double.longBitsToDouble(Bits);
+            case Boolean -> Bits != 0L;
+            default -> GetMaterializedObjectAt(index);
+        };
+    }
+
+    private Object GetMaterializedObjectAt(int index)
+    {
+        Object Value = GetObjectAt(index);
+        if (Value instanceof GHDFArrayView View)
+        {
+            Value = View.ToArray();
+            _objects[index] = Value;
+        }
+        else if (Value instanceof GHDFColumns Columns)
+        {
+            Value = Columns.ToCompounds();
+            _objects[index] = Value;
+            if (_changedIDs != null)
+            {
+                SetNestedChangeTracking(Value, true);
+            }
+        }
+        return Value;
+    }
+
+    private Object GetArrayObject(int id, GHDFType type)
+    {
+        return GetObjectAt(GetVerifiedIndex(id, type));
+    }
+
+    private GHDFType GetValueType(Object value)
+    {
+        if (value == null)
+        {
+            throw new GHDFEntryException("Invalid entry type: null");
+        }
+
+        GHDFType Type = VALUE_TYPES.get(value.getClass());
+        if (Type != null)
+        {
+            return Type;
+        }
+        if (value instanceof GHDFCompound)
+        {
+            return GHDFType.Compound;
+        }
+        if (value instanceof GHDFCompound[])
+        {
+            return GHDFType.CompoundArray;
+        }
+        if (value instanceof GHDFArrayView View)
+        {
+            return View.GetType();
+        }
+        if (value instanceof GHDFColumns)
+        {
+            return GHDFType.CompoundArray;
+        }
+        throw new GHDFEntryException("Invalid entry type: %s".formatted(value.getClass().toString()));
+    }
+
+    private long GetPrimitive(int id, GHDFType type)
+    {
+        return _primitives[GetVerifiedIndex(id, type)];
+    }
+
+    private int GetVerifiedIndex(int id, GHDFType type)
+    {
+        VerifyID(id);
+        int Index = FindIndex(id);
+        if (Index < 0)
+        {
+            throw new GHDFEntryException("Mandatory entry of type %s with id %d not found"
+                    .formatted(type.toString(), id));
+        }
+        if (_types[Index] != type)
+        {
+            throw new GHDFEntryException("Mandatory entry with id %d is of wrong type. Got %s, expected %s."
+                    .formatted(id, _types[Index].toString(), type.toString()));
+        }
+        return Index;
+    }
+
+    private int FindPrimitive(int id, GHDFType type)
+    {
+        VerifyID(id);
+        int Index = FindIndex(id);
+        return (Index >= 0) && (_types[Index] == type) ? Index : -1;
+    }
+
+    private void SetPrimitiveAt(int index, long bits)
+    {
+        _primitives[index] = bits;
+        _objects[index] = null;
+    }
+
+    private int FindIndex(int id)
+    {
+        return _slots[FindSlot(id)] - 1;
+    }
+
+    private int FindSlot(int id)
+    {
+        int Mask = _slots.length - 1;
+        int Slot = Hash(id) & Mask;
+        while ((_slots[Slot] != 0) && (_ids[_slots[Slot] - 1] != id))
+        {
+            Slot = (Slot + 1) & Mask;
+        }
+        return Slot;
+    }
+
+    private int GetOrCreateIndex(int id)
+    {
+        int Slot = FindSlot(id);
+        if (_slots[Slot] != 0)
+        {
+            return _slots[Slot] - 1;
+        }
+
+        if (_size == _ids.length)
+        {
+            Grow();
+            Slot = FindSlot(id);
+        }
+
+        int Index = _size++;
+        _modificationCount++;
+        _ids[Index] = id;
+        _slots[Slot] = Index + 1;
+        return Index;
+    }
+
+    private void Grow()
+    {
+        int NewCapacity = Math.max(INITIAL_CAPACITY, _ids.length * 2);
+        _ids = Arrays.copyOf(_ids, NewCapacity);
+        _types = Arrays.copyOf(_types, NewCapacity);
+        _primitives = Arrays.copyOf(_primitives, NewCapacity);
+        _objects = Arrays.copyOf(_objects, NewCapacity);
+
+        _slots = new int[NewCapacity * 2];
+        for (int i = 0; i < _size; i++)
+        {
+            _slots[FindSlot(_ids[i])] = i + 1;
+        }
+    }
+
+    private void DeleteSlot(int slot)
+    {
+        int Mask = _slots.length - 1;
+        int Hole = slot;
+        int Next = (Hole + 1) & Mask;
+
+        while (_slots[Next] != 0)
+        {
+            int IdealSlot = Hash(_ids[_slots[Next] - 1]) & Mask;
+            if (((Next - IdealSlot) & Mask) >= ((Next - Hole) & Mask))
+            {
+                _slots[Hole] = _slots[Next];
+                Hole = Next;
+            }
+            Next = (Next + 1) & Mask;
+        }
+        _slots[Hole] = 0;
+    }
+
+    private int Hash(int id)
+    {
+        int Hash = id * 0x9E3779B9;
+        return Hash ^ (Hash >>> 16);
+    }
+
     private void VerifyID(int id)
     {
         if (id == 0)
@@ -114,93 +766,72 @@ public class GHDFCompound
 
 
     // Types.
-    private static class GHDFEntry
+    private class IDSet extends AbstractSet<Integer>
     {
-        // Fields.
-        public Object Value;
-        public GHDFType Type;
+        // Inherited methods.
+        @Override
+        public Iterator<Integer> iterator()
+        {
+            return new Iterator<>()
+            {
+                private int _index = 0;
+                private int _lastIndex = -1;
+                private int _expectedModificationCount = _modificationCount;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return _index < _size;
+                }
+
+                @Override
+                public Integer next()
+                {
+                    VerifyNotModified();
+                    if (_index >= _size)
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    _lastIndex = _index;
+                    return _ids[_index++];
+                }
+
+                @Override
+                public void remove()
+                {
+                    if (_lastIndex < 0)
+                    {
+                        throw new IllegalStateException();
+                    }
+                    VerifyNotModified();
 
+                    // Removal moves the last entry into the freed index, so that index is visited again.
+                    RemoveEntry(_ids[_lastIndex]);
+                    _index = _lastIndex;
+                    _lastIndex = -1;
+                    _expectedModificationCount = _modificationCount;
+                }
 
-        // Constructors.
-        public GHDFEntry(Object value)
+                private void VerifyNotModified()
+                {
+                    if (_expectedModificationCount != _modificationCount)
+                    {
+                        throw new ConcurrentModificationException();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int size()
         {
-            Value = value;
-            if (value instanceof Byte)
-            {
-                Type = GHDFType.Int8;
-            }
-            else if (value instanceof Short)
-            {
-                Type = GHDFType.Int16;
-            }
-            else if (value instanceof Integer)
-            {
-                Type = GHDFType.Int32;
-            }
-            else if (value instanceof Long)
-            {
-                Type = GHDFType.Int64;
-            }
-            else if (value instanceof Float)
-            {
-                Type = GHDFType.Float;
-            }
-            else if (value instanceof Double)
-            {
-                Type = GHDFType.Double;
-            }
-            else if (value instanceof Boolean)
-            {
-                Type = GHDFType.Boolean;
-            }
-            else if (value instanceof String)
-            {
-                Type = GHDFType.String;
-            }
-            else if (value instanceof GHDFCompound)
-            {
-                Type = GHDFType.Compound;
-            }
-            else if (value instanceof byte[])
-            {
-                Type = GHDFType.Int8Array;
-            }
-            else if (value instanceof short[])
-            {
-                Type = GHDFType.Int16Array;
-            }
-            else if (value instanceof int[])
-            {
-                Type = GHDFType.Int32Array;
-            }
-            else if (value instanceof long[])
-            {
-                Type = GHDFType.Int64Array;
-            }
-            else if (value instanceof float[])
-            {
-                Type = GHDFType.FloatArray;
-            }
-            else if (value instanceof double[])
-            {
-                Type = GHDFType.DoubleArray;
-            }
-            else if (value instanceof boolean[])
-            {
-                Type = GHDFType.BooleanArray;
-            }
-            else if (value instanceof String[])
-            {
-                Type = GHDFType.StringArray;
-            }
-            else if (value instanceof GHDFCompound[])
-            {
-                Type = GHDFType.CompoundArray;
-            }
-            else
-            {
-                throw new GHDFEntryException("Invalid entry type: %s".formatted(value.getClass().toString()));
-            }
+            return _size;
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return (value instanceof Integer ID) && (ID != 0) && (FindIndex(ID) >= 0);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,173 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+final class GHDFCompression
+{
+    // Static fields.
+    static final int DEFAULT_BLOCK_SIZE = 1 << 18;
+    static final int MIN_BLOCK_SIZE = 1 << 10;
+    static final int MAX_BLOCK_SIZE = 1 << 26;
+    static final int BLOCK_HEADER_SIZE = Integer.BYTES * 2;
+
+
+    // Private static fields.
+    private static final ConcurrentHashMap<Byte, IGHDFCompressionCodec> CODECS = new ConcurrentHashMap<>();
+
+    static
+    {
+        CODECS.put(GHDFDeflateCodec.ID, GHDFDeflateCodec.DEFAULT);
+    }
+
+
+    // Static methods.
+    static void Register(IGHDFCompressionCodec codec)
+    {
+        if (codec == null)
+        {
+            throw new IllegalArgumentException("codec is null");
+        }
+
+        IGHDFCompressionCodec RegisteredCodec = CODECS.putIfAbsent(codec.GetID(), codec);
+        if ((RegisteredCodec != null) && (RegisteredCodec.getClass() != codec.getClass()))
+        {
+            throw new IllegalArgumentException("A different codec with the ID %d is already registered"
+                    .formatted(codec.GetID()));
+        }
+    }
+
+    static IGHDFCompressionCodec GetCodec(byte id) throws IOException
+    {
+        IGHDFCompressionCodec Codec = CODECS.get(id);
+        if (Codec == null)
+        {
+            throw new GHDFReadException("Unknown GHDF compression codec with ID %d".formatted(id & 0xFF));
+        }
+        return Codec;
+    }
+
+    static void VerifyBlockHeader(int rawLength, int storedLength) throws IOException
+    {
+        if ((rawLength < 0) || (rawLength > MAX_BLOCK_SIZE) || (storedLength <= 0) || (storedLength > rawLength))
+        {
+            throw new GHDFReadException("Invalid GHDF compressed block with length %d, stored as %d bytes"
+                    .formatted(rawLength, storedLength));
+        }
+    }
+
+    static void DecompressBlock(IGHDFCompressionCodec codec, ByteBuffer source, byte[] destination, int offset,
+                                int length) throws IOException
+    {
+        if (source.remaining() == length)
+        {
+            source.get(destination, offset, length);
+            return;
+        }
+        codec.Decompress(source, destination, offset, length);
+    }
+
+    static ByteBuffer Decompress(ByteBuffer data, ForkJoinPool parallelPool, int parallelThreshold)
+            throws IOException
+    {
+        IGHDFCompressionCodec Codec = GetCodec(data.get());
+
+        int BlockCount = 0;
+        int[] SourceOffsets = new int[16];
+        int[] StoredLengths = new int[16];
+        long[] RawOffsets = new long[17];
+        while (true)
+        {
+            int RawLength = data.getInt();
+            int StoredLength = data.getInt();
+            if (RawLength == 0)
+            {
+                break;
+            }
+            VerifyBlockHeader(RawLength, StoredLength);
+            if (StoredLength > data.remaining())
+            {
+                throw new BufferUnderflowException();
+            }
+
+            if (BlockCount == SourceOffsets.length)
+            {
+                SourceOffsets = Arrays.copyOf(SourceOffsets, BlockCount * 2);
+                StoredLengths = Arrays.copyOf(StoredLengths, BlockCount * 2);
+                RawOffsets = Arrays.copyOf(RawOffsets, (BlockCount * 2) + 1);
+            }
+            SourceOffsets[BlockCount] = data.position();
+            StoredLengths[BlockCount] = StoredLength;
+            RawOffsets[BlockCount + 1] = RawOffsets[BlockCount] + RawLength;
+            BlockCount++;
+            data.position(data.position() + StoredLength);
+        }
+
+        if (RawOffsets[BlockCount] > Integer.MAX_VALUE - 8)
+        {
+            throw new GHDFReadException("Cannot decompress more than (2^31 - 9) bytes of GHDF data.");
+        }
+        byte[] Output = new byte[(int)RawOffsets[BlockCount]];
+
+        // Blocks are independent, so with parallel decoding enabled they are inflated straight into their final
+        // place on the reader's pool.
+        if ((parallelPool == null) || (BlockCount < 2) || (Output.length < parallelThreshold * 2L))
+        {
+            for (int i = 0; i < BlockCount; i++)
+            {
+                DecompressBlock(Codec, data.slice(SourceOffsets[i], StoredLengths[i]), Output, (int)RawOffsets[i],
+                        (int)(RawOffsets[i + 1] - RawOffsets[i]));
+            }
+            return ByteBuffer.wrap(Output).order(GHDF.ENDIANNESS);
+        }
+
+        List<Callable<Void>> Tasks = new ArrayList<>(BlockCount);
+        for (int i = 0; i < BlockCount; i++)
+        {
+            ByteBuffer Source = data.slice(SourceOffsets[i], StoredLengths[i]);
+            int Offset = (int)RawOffsets[i];
+            int Length = (int)(RawOffsets[i + 1] - RawOffsets[i]);
+            Tasks.add(() ->
+            {
+                DecompressBlock(Codec, Source, Output, Offset, Length);
+                return null;
+            });
+        }
+
+        for (Future<Void> Result : parallelPool.invokeAll(Tasks))
+        {
+            try
+            {
+                Result.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new GHDFReadException("Interrupted while decompressing GHDF data.");
+            }
+            catch (ExecutionException e)
+            {
+                if (e.getCause() instanceof IOException CauseException)
+                {
+                    throw CauseException;
+                }
+                if (e.getCause() instanceof RuntimeException CauseException)
+                {
+                    throw CauseException;
+                }
+                throw new GHDFReadException("Failed to decompress GHDF data. Inner message: %s"
+                        .formatted(e.getCause().getMessage()));
+            }
+        }
+        return ByteBuffer.wrap(Output).order(GHDF.ENDIANNESS);
+    }
+}
@@ -0,0 +1,93 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+class GHDFDeflateCodec implements IGHDFCompressionCodec
+{
+    // Static fields.
+    static final byte ID = 1;
+    static final GHDFDeflateCodec DEFAULT = new GHDFDeflateCodec(Deflater.DEFAULT_COMPRESSION);
+
+
+    // Private fields.
+    private final int _level;
+
+
+    // Constructors.
+    GHDFDeflateCodec(int level)
+    {
+        if (((level < Deflater.BEST_SPEED) || (level > Deflater.BEST_COMPRESSION))
+                && (level != Deflater.DEFAULT_COMPRESSION))
+        {
+            throw new IllegalArgumentException("Invalid deflate compression level: %d".formatted(level));
+        }
+        _level = level;
+    }
+
+
+    // Inherited methods.
+    @Override
+    public byte GetID()
+    {
+        return ID;
+    }
+
+    @Override
+    public int Compress(byte[] source, int offset, int length, byte[] destination)
+    {
+        Deflater Compressor = new Deflater(_level, true);
+        try
+        {
+            Compressor.setInput(source, offset, length);
+            Compressor.finish();
+            int CompressedLength = 0;
+            while (!Compressor.finished() && (CompressedLength < destination.length))
+            {
+                CompressedLength += Compressor.deflate(destination, CompressedLength,
+                        destination.length - CompressedLength);
+            }
+            return Compressor.finished() ? CompressedLength : -1;
+        }
+        finally
+        {
+            Compressor.end();
+        }
+    }
+
+    @Override
+    public void Decompress(ByteBuffer source, byte[] destination, int offset, int length) throws IOException
+    {
+        Inflater Decompressor = new Inflater(true);
+        try
+        {
+            Decompressor.setInput(source);
+            int DecompressedLength = 0;
+            while ((DecompressedLength < length) && !Decompressor.finished())
+            {
+                int Count = Decompressor.inflate(destination, offset + DecompressedLength,
+                        length - DecompressedLength);
+                if ((Count == 0) && (Decompressor.needsInput() || Decompressor.needsDictionary()))
+                {
+                    break;
+                }
+                DecompressedLength += Count;
+            }
+            if ((DecompressedLength != length) || source.hasRemaining())
+            {
+                throw new GHDFReadException("Deflate block size mismatch, expected %d bytes".formatted(length));
+            }
+        }
+        catch (DataFormatException e)
+        {
+            throw new GHDFReadException("Corrupted deflate block. Inner message: %s".formatted(e.getMessage()));
+        }
+        finally
+        {
+            Decompressor.end();
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class GHDFIndex
+{
+    // Private static fields.
+    private static final int INDEX_VERSION = 1;
+
+
+    // Private fields.
+    private final Path _filePath;
+    private final long _fileSize;
+    private final long _fileModifiedTime;
+    private final Map<IDPath, GHDFIndexEntry> _entries = new HashMap<>();
+    private final GHDFReaderVersion1 _reader = new GHDFReaderVersion1();
+
+
+    // Constructors.
+    private GHDFIndex(Path filePath, long fileSize, long fileModifiedTime, List<GHDFIndexEntry> entries)
+    {
+        _filePath = filePath;
+        _fileSize = fileSize;
+        _fileModifiedTime = fileModifiedTime;
+        for (GHDFIndexEntry Entry : entries)
+        {
+            _entries.put(new IDPath(Entry.GetIDPath()), Entry);
+        }
+    }
+
+
+    // Static methods.
+    public static GHDFIndex Create(String filePath) throws IOException
+    {
+        Path DataPath = GetDataPath(filePath);
+        long FileSize = Files.size(DataPath);
+        long ModifiedTime = Files.getLastModifiedTime(DataPath).toMillis();
+        if (FileSize > Integer.MAX_VALUE)
+        {
+            throw new GHDFReadException("Cannot index files larger than (2^31 - 1) bytes.");
+        }
+
+        List<GHDFIndexEntry> Entries = new ArrayList<>();
+        try (FileChannel Channel = FileChannel.open(DataPath, StandardOpenOption.READ))
+        {
+            ByteBuffer Data = Channel.map(FileChannel.MapMode.READ_ONLY, 0, FileSize).order(GHDF.ENDIANNESS);
+            GHDFReaderVersion1.VerifySignature(Data);
+            int Flags = GHDFReaderVersion1.VerifyVersion(Data);
+            if ((Flags & GHDF.FLAG_COMPRESSED) != 0)
+            {
+                throw new GHDFReadException("Cannot index compressed GHDF data.");
+            }
+            if ((Flags & GHDF.FLAG_STRING_TABLE) != 0)
+            {
+                throw new GHDFReadException("Cannot index GHDF data with a string table.");
+            }
+            IndexCompound(Data, new int[0], Entries);
+            if (Data.remaining() > 0)
+            {
+                throw new GHDFReadException("Trailing data detected in GHDF data stream.");
+            }
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new GHDFReadException("Failed to index GHDF data because it was incomplete.");
+        }
+
+        GHDFIndex Index = new GHDFIndex(DataPath, FileSize, ModifiedTime, Entries);
+        Index.Save(Entries);
+        return Index;
+    }
+
+    public static GHDFIndex Open(String filePath) throws IOException
+    {
+        Path DataPath = GetDataPath(filePath);
+        ByteBuffer Data;
+        try
+        {
+            Data = ByteBuffer.wrap(Files.readAllBytes(GetIndexPath(DataPath))).order(GHDF.ENDIANNESS);
+        }
+        catch (NoSuchFileException e)
+        {
+            throw new GHDFReadException("No index exists for GHDF file \"%s\"".formatted(DataPath.toString()));
+        }
+
+        GHDFIndex Index;
+        try
+        {
+            byte[] Signature = new byte[GHDF.INDEX_SIGNATURE.length];
+            Data.get(Signature);
+            if (!Arrays.equals(Signature, GHDF.INDEX_SIGNATURE))
+            {
+                throw new GHDFReadException("Invalid signature, not a GHDF index");
+            }
+            int Version = Data.getInt();
+            if (Version != INDEX_VERSION)
+            {
+                throw new GHDFReadException("Unsupported GHDF index version: %d, supported: %d)".formatted(
+                        Version, INDEX_VERSION));
+            }
+
+            long FileSize = Data.getLong();
+            long ModifiedTime = Data.getLong();
+
+            // Counts and offsets are checked before they are used, so a corrupted index is rebuilt by
+            // OpenOrCreate rather than failing with an unrelated exception.
+            int EntryCount = GHDFReaderVersion1.Read7BitEncodedInt(Data);
+            if ((EntryCount < 0) || (EntryCount > Data.remaining()))
+            {
+                throw CreateCorruptedException(DataPath);
+            }
+            List<GHDFIndexEntry> Entries = new ArrayList<>(EntryCount);
+            for (int i = 0; i < EntryCount; i++)
+            {
+                int PathLength = GHDFReaderVersion1.Read7BitEncodedInt(Data);
+                if ((PathLength <= 0) || (PathLength > Data.remaining()))
+                {
+                    throw CreateCorruptedException(DataPath);
+                }
+                int[] Path = new int[PathLength];
+                for (int j = 0; j < Path.length; j++)
+                {
+                    Path[j] = GHDFReaderVersion1.Read7BitEncodedInt(Data);
+                }
+                GHDFType Type = GHDFReaderVersion1.ReadEntryType(Data, Path[Path.length - 1]);
+                long Offset = Data.getLong();
+                int Length = Data.getInt();
+                if ((Offset < 0L) || (Length < 0) || (Offset + Length > FileSize))
+                {
+                    throw CreateCorruptedException(DataPath);
+                }
+                Entries.add(new GHDFIndexEntry(Path, Type, Offset, Length));
+            }
+            Index = new GHDFIndex(DataPath, FileSize, ModifiedTime, Entries);
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw CreateCorruptedException(DataPath);
+        }
+
+        Index.VerifyNotStale();
+        return Index;
+    }
+
+    public static GHDFIndex OpenOrCreate(String filePath) throws IOException
+    {
+        try
+        {
+            return Open(filePath);
+        }
+        catch (GHDFReadException e)
+        {
+            return Create(filePath);
+        }
+    }
+
+
+    // Methods.
+    public GHDFIndexEntry Find(int... idPath)
+    {
+        return _entries.get(new IDPath(idPath));
+    }
+
+    public Collection<GHDFIndexEntry> GetEntries()
+    {
+        return Collections.unmodifiableCollection(_entries.values());
+    }
+
+    public boolean IsStale() throws IOException
+    {
+        return !Files.exists(_filePath) || (Files.size(_filePath) != _fileSize)
+                || (Files.getLastModifiedTime(_filePath).toMillis() != _fileModifiedTime);
+    }
+
+    public <T> T ReadEntry(int... idPath) throws IOException
+    {
+        GHDFIndexEntry Entry = Find(idPath);
+        return Entry == null ? null : ReadEntry(Entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T ReadEntry(GHDFIndexEntry entry) throws IOException
+    {
+        VerifyNotStale();
+
+        ByteBuffer Data = ByteBuffer.allocate(entry.GetLength()).order(GHDF.ENDIANNESS);
+        try (FileChannel Channel = FileChannel.open(_filePath, StandardOpenOption.READ))
+        {
+            while (Data.hasRemaining())
+            {
+                if (Channel.read(Data, entry.GetOffset() + Data.position()) < 0)
+                {
+                    throw new GHDFReadException("Indexed GHDF entry extends past the end of the file.");
+                }
+            }
+        }
+        Data.flip();
+
+        try
+        {
+            return (T)_reader.ReadValue(Data, entry.GetType());
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new GHDFReadException("Indexed GHDF entry was incomplete.");
+        }
+    }
+
+
+    // Private static methods.
+    private static GHDFReadException CreateCorruptedException(Path dataPath)
+    {
+        return new GHDFReadException("GHDF index of \"%s\" is corrupted".formatted(dataPath.toString()));
+    }
+
+    private static Path GetDataPath(String filePath)
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+        return Path.of(filePath);
+    }
+
+    private static Path GetIndexPath(Path dataPath)
+    {
+        String FileName = dataPath.getFileName().toString();
+        if (FileName.endsWith(GHDF.EXTENSION))
+        {
+            FileName = FileName.substring(0, FileName.length() - GHDF.EXTENSION.length());
+        }
+        return dataPath.resolveSibling(FileName + GHDF.INDEX_EXTENSION);
+    }
+
+    private static void IndexCompound(ByteBuffer data, int[] parentPath, List<GHDFIndexEntry> entries)
+            throws IOException
+    {
+        int EntryCount = GHDFReaderVersion1.Read7BitEncodedInt(data);
+        for (int i = 0; i < EntryCount; i++)
+        {
+            int ID = GHDFReaderVersion1.Read7BitEncodedInt(data);
+            GHDFReaderVersion1.VerifyID(ID);
+            GHDFType Type = GHDFReaderVersion1.ReadEntryType(data, ID);
+
+            int[] Path = Arrays.copyOf(parentPath, parentPath.length + 1);
+            Path[parentPath.length] = ID;
+            int Start = data.position();
+            if (Type == GHDFType.Compound)
+            {
+                IndexCompound(data, Path, entries);
+            }
+            else
+            {
+                GHDFReaderVersion1.SkipValue(data, Type);
+            }
+            entries.add(new GHDFIndexEntry(Path, Type, Start, data.position() - Start));
+        }
+    }
+
+
+    // Private methods.
+    private void Save(List<GHDFIndexEntry> entries) throws IOException
+    {
+        GHDFOutputBuffer Buffer = new GHDFOutputBuffer(4096);
+        Buffer.PutBytes(GHDF.INDEX_SIGNATURE);
+        Buffer.PutInt(INDEX_VERSION);
+        Buffer.PutLong(_fileSize);
+        Buffer.PutLong(_fileModifiedTime);
+        Buffer.Put7BitEncodedInt(entries.size());
+
+        for (GHDFIndexEntry Entry : entries)
+        {
+            int[] Path = Entry.GetIDPath();
+            Buffer.Put7BitEncodedInt(Path.length);
+            for (int ID : Path)
+            {
+                Buffer.Put7BitEncodedInt(ID);
+            }
+            Buffer.PutByte(Entry.GetType().GetByteData());
+            Buffer.PutLong(Entry.GetOffset());
+            Buffer.PutInt(Entry.GetLength());
+        }
+
+        Files.write(GetIndexPath(_filePath), Buffer.ToArray());
+    }
+
+    private void VerifyNotStale() throws IOException
+    {
+        if (IsStale())
+        {
+            throw new GHDFReadException("GHDF index of \"%s\" is stale, the file has changed since it was indexed"
+                    .formatted(_filePath.toString()));
+        }
+    }
+
+
+    // Types.
+    private static final class IDPath
+    {
+        // Private fields.
+        private final int[] _ids;
+
+
+        // Constructors.
+        IDPath(int[] ids)
+        {
+            _ids = ids;
+        }
+
+
+        // Inherited methods.
+        @Override
+        public boolean equals(Object other)
+        {
+            return (other instanceof IDPath OtherPath) && Arrays.equals(_ids, OtherPath._ids);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Arrays.hashCode(_ids);
+        }
+    }
+}
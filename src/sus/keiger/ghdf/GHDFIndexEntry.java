@@ -0,0 +1,42 @@
+package sus.keiger.ghdf;
+
+public final class GHDFIndexEntry
+{
+    // Private fields.
+    private final int[] _idPath;
+    private final GHDFType _type;
+    private final long _offset;
+    private final int _length;
+
+
+    // Constructors.
+    GHDFIndexEntry(int[] idPath, GHDFType type, long offset, int length)
+    {
+        _idPath = idPath;
+        _type = type;
+        _offset = offset;
+        _length = length;
+    }
+
+
+    // Methods.
+    public int[] GetIDPath()
+    {
+        return _idPath.clone();
+    }
+
+    public GHDFType GetType()
+    {
+        return _type;
+    }
+
+    public long GetOffset()
+    {
+        return _offset;
+    }
+
+    public int GetLength()
+    {
+        return _length;
+    }
+}
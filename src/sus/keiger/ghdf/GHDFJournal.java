@@ -0,0 +1,305 @@
+package sus.keiger.ghdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+public class GHDFJournal implements Closeable
+{
+    // Private static fields.
+    private static final int ID_OPERATIONS = 1;
+    private static final int ID_BASE_SIZE = 2;
+    private static final int ID_BASE_CHECKSUM = 3;
+    private static final int ID_PATH = 1;
+    private static final int ID_VALUE = 2;
+
+
+    // Private fields.
+    private final Path _basePath;
+    private final Path _journalPath;
+    private GHDFLogWriter _writer = null;
+
+
+    // Constructors.
+    private GHDFJournal(Path basePath)
+    {
+        _basePath = basePath;
+        _journalPath = GetJournalPath(basePath);
+    }
+
+
+    // Static methods.
+    public static GHDFJournal Open(String filePath)
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+        return new GHDFJournal(Path.of(filePath));
+    }
+
+
+    // Methods.
+    public GHDFCompound Load() throws IOException
+    {
+        byte[] BaseData = Files.exists(_basePath) ? Files.readAllBytes(_basePath) : null;
+        GHDFCompound Compound = BaseData != null
+                ? IGHDFReader.GetAutoDetectVersion().Read(new ByteArrayInputStream(BaseData)) : new GHDFCompound();
+
+        if (Files.exists(_journalPath) && (Files.size(_journalPath) > 0L))
+        {
+            // Records up to a compaction of the current base file are already part of it and are skipped.
+            List<GHDFCompound> Records = new ArrayList<>();
+            try (GHDFLogReader Reader = new GHDFLogReader(_journalPath.toString()))
+            {
+                GHDFCompound Record;
+                while ((Record = Reader.Next()) != null)
+                {
+                    if (Record.GetIndexOf(ID_BASE_CHECKSUM) < 0)
+                    {
+                        Records.add(Record);
+                    }
+                    else if (IsBaseOfCompaction(Record, BaseData))
+                    {
+                        Records.clear();
+                    }
+                }
+            }
+
+            for (GHDFCompound Record : Records)
+            {
+                for (GHDFCompound Operation : Record.GetOrElse(ID_OPERATIONS, new GHDFCompound[0]))
+                {
+                    ApplyOperation(Compound, Operation);
+                }
+            }
+        }
+
+        Compound.SetChangeTrackingEnabled(true);
+        return Compound;
+    }
+
+    public void Save(GHDFCompound compound) throws IOException
+    {
+        if (compound == null)
+        {
+            throw new IllegalArgumentException("compound is null");
+        }
+
+        // Without tracking there is no way of telling what changed, so everything is written out.
+        if (!compound.IsChangeTrackingEnabled())
+        {
+            Compact(compound);
+            compound.SetChangeTrackingEnabled(true);
+            return;
+        }
+        if (!compound.HasChanges())
+        {
+            return;
+        }
+
+        List<GHDFCompound> Operations = new ArrayList<>();
+        CollectOperations(compound, new int[0], Operations);
+
+        GHDFCompound Record = new GHDFCompound();
+        Record.SetEntry(ID_OPERATIONS, Operations.toArray(new GHDFCompound[0]));
+        if (_writer == null)
+        {
+            _writer = new GHDFLogWriter(_journalPath.toString());
+        }
+        _writer.Append(Record);
+        _writer.Sync();
+        compound.ClearChanges();
+    }
+
+    public void Compact(GHDFCompound compound) throws IOException
+    {
+        if (compound == null)
+        {
+            throw new IllegalArgumentException("compound is null");
+        }
+
+        byte[] Data = IGHDFWriter.GetVersion1().Write(compound);
+        Path TempPath = _basePath.resolveSibling(_basePath.getFileName() + GHDF.TEMP_EXTENSION);
+        try (FileChannel Channel = FileChannel.open(TempPath, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            Channel.write(ByteBuffer.wrap(Data));
+            Channel.force(true);
+        }
+
+        // The journal is only dropped once the new base file is in place. Replaying it onto the new base would undo
+        // changes made since the last save, so the journal first records which base file it was compacted into.
+        if (Files.exists(_journalPath))
+        {
+            GHDFCompound Record = new GHDFCompound();
+            Record.SetLong(ID_BASE_SIZE, Data.length);
+            Record.SetInt(ID_BASE_CHECKSUM, GetChecksum(Data));
+            if (_writer == null)
+            {
+                _writer = new GHDFLogWriter(_journalPath.toString());
+            }
+            _writer.Append(Record);
+            _writer.Sync();
+        }
+        Files.move(TempPath, _basePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        close();
+        Files.deleteIfExists(_journalPath);
+        compound.ClearChanges();
+    }
+
+    public long GetJournalSize() throws IOException
+    {
+        return Files.exists(_journalPath) ? Files.size(_journalPath) : 0L;
+    }
+
+
+    // Inherited methods.
+    @Override
+    public void close() throws IOException
+    {
+        if (_writer != null)
+        {
+            _writer.close();
+            _writer = null;
+        }
+    }
+
+
+    // Private static methods.
+    private static Path GetJournalPath(Path basePath)
+    {
+        String FileName = basePath.getFileName().toString();
+        if (FileName.endsWith(GHDF.EXTENSION))
+        {
+            FileName = FileName.substring(0, FileName.length() - GHDF.EXTENSION.length());
+        }
+        return basePath.resolveSibling(FileName + GHDF.JOURNAL_EXTENSION);
+    }
+
+    private static int GetChecksum(byte[] data)
+    {
+        CRC32C Checksum = new CRC32C();
+        Checksum.update(data);
+        return (int)Checksum.getValue();
+    }
+
+    private static boolean IsBaseOfCompaction(GHDFCompound record, byte[] baseData)
+    {
+        return (baseData != null) && (record.GetLongOrElse(ID_BASE_SIZE, -1L) == baseData.length)
+                && (record.GetIntOrElse(ID_BASE_CHECKSUM, 0) == GetChecksum(baseData));
+    }
+
+    private static void CollectOperations(GHDFCompound compound, int[] path, List<GHDFCompound> operations)
+    {
+        Set<Integer> ChangedIDs = compound.GetChangedIDs();
+        for (int ID : ChangedIDs)
+        {
+            operations.add(CreateOperation(compound, Append(path, ID), compound.GetIndexOf(ID)));
+        }
+
+        // Lazy entries have not been decoded since loading, so nothing inside of them can have changed.
+        for (int i = 0; i < compound.Size(); i++)
+        {
+            int ID = compound.GetIDAt(i);
+            if (ChangedIDs.contains(ID) || compound.IsLazyAt(i))
+            {
+                continue;
+            }
+
+            GHDFType Type = compound.GetTypeAt(i);
+            if (Type == GHDFType.Compound)
+            {
+                CollectOperations((GHDFCompound)compound.GetObjectAt(i), Append(path, ID), operations);
+            }
+            else if ((Type == GHDFType.CompoundArray) && (compound.GetObjectAt(i) instanceof GHDFCompound[] Array)
+                    && HasChangedElement(Array))
+            {
+                // Array elements have no IDs to address them by, so the whole array is written again.
+                operations.add(CreateOperation(compound, Append(path, ID), i));
+            }
+        }
+    }
+
+    private static GHDFCompound CreateOperation(GHDFCompound compound, int[] path, int index)
+    {
+        GHDFCompound Operation = new GHDFCompound();
+        Operation.SetEntry(ID_PATH, path);
+        if (index >= 0)
+        {
+            CopyEntry(compound, index, Operation, ID_VALUE);
+        }
+        return Operation;
+    }
+
+    private static void ApplyOperation(GHDFCompound compound, GHDFCompound operation) throws IOException
+    {
+        int[] Path = operation.GetOrElse(ID_PATH, new int[0]);
+        if (Path.length == 0)
+        {
+            throw new GHDFReadException("GHDF journal operation has no ID path.");
+        }
+
+        GHDFCompound Target = compound;
+        for (int i = 0; i < Path.length - 1; i++)
+        {
+            int Index = Target.GetIndexOf(Path[i]);
+            if ((Index >= 0) && (Target.GetTypeAt(Index) == GHDFType.Compound))
+            {
+                Target = (GHDFCompound)Target.GetObjectAt(Index);
+                continue;
+            }
+
+            GHDFCompound Child = new GHDFCompound();
+            Target.SetEntry(Path[i], Child);
+            Target = Child;
+        }
+
+        int ValueIndex = operation.GetIndexOf(ID_VALUE);
+        if (ValueIndex >= 0)
+        {
+            CopyEntry(operation, ValueIndex, Target, Path[Path.length - 1]);
+        }
+        else
+        {
+            Target.RemoveEntry(Path[Path.length - 1]);
+        }
+    }
+
+    private static void CopyEntry(GHDFCompound source, int index, GHDFCompound target, int id)
+    {
+        GHDFType Type = source.GetTypeAt(index);
+        if (GHDFCompound.IsPrimitiveType(Type))
+        {
+            target.SetPrimitive(id, Type, source.GetPrimitiveAt(index));
+        }
+        else
+        {
+            target.SetObject(id, Type, source.GetObjectAt(index));
+        }
+    }
+
+    private static boolean HasChangedElement(GHDFCompound[] array)
+    {
+        return Arrays.stream(array).anyMatch(element -> (element != null) && element.HasChanges());
+    }
+
+    private static int[] Append(int[] path, int id)
+    {
+        int[] Result = Arrays.copyOf(path, path.length + 1);
+        Result[path.length] = id;
+        return Result;
+    }
+}
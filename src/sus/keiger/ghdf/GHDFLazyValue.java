@@ -0,0 +1,27 @@
+package sus.keiger.ghdf;
+
+import java.nio.ByteBuffer;
+
+final class GHDFLazyValue
+{
+    // Private fields.
+    private final GHDFMappedReaderVersion1 _reader;
+    private final ByteBuffer _data;
+    private final GHDFType _type;
+
+
+    // Constructors.
+    GHDFLazyValue(GHDFMappedReaderVersion1 reader, ByteBuffer data, GHDFType type)
+    {
+        _reader = reader;
+        _data = data;
+        _type = type;
+    }
+
+
+    // Methods.
+    Object Decode()
+    {
+        return _reader.DecodeLazyValue(_data.duplicate().order(GHDF.ENDIANNESS), _type);
+    }
+}
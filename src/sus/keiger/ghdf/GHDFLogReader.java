@@ -0,0 +1,308 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32C;
+
+class GHDFLogReader implements IGHDFLogReader
+{
+    // Static fields.
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = GHDF.LOG_SIGNATURE.length + Integer.BYTES;
+    static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+
+
+    // Private static fields.
+    private static final int BUFFER_SIZE = 65536;
+
+
+    // Private fields.
+    private final FileChannel _channel;
+    private final long _fileSize;
+    private final GHDFReaderVersion1 _reader = new GHDFReaderVersion1();
+    private final CRC32C _checksum = new CRC32C();
+    private ByteBuffer _buffer = ByteBuffer.allocate(BUFFER_SIZE).order(GHDF.ENDIANNESS).flip();
+    private long _validLength = 0L;
+    private int _recordLength = -1;
+    private boolean _isHeaderMissing = false;
+
+
+    // Constructors.
+    GHDFLogReader(String filePath) throws IOException
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+
+        _channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+        try
+        {
+            _fileSize = _channel.size();
+
+            // Creating a log can be interrupted before its header is complete or has reached the disk, which leaves
+            // the file cut short or zero filled. Such a file holds no records and is read as an empty log.
+            if (IsHeaderMissing())
+            {
+                _isHeaderMissing = true;
+                return;
+            }
+            if (!Fill(HEADER_SIZE))
+            {
+                throw new GHDFReadException("Invalid signature, not a GHDF log");
+            }
+
+            byte[] Signature = new byte[GHDF.LOG_SIGNATURE.length];
+            _buffer.get(Signature);
+            if (!Arrays.equals(Signature, GHDF.LOG_SIGNATURE))
+            {
+                throw new GHDFReadException("Invalid signature, not a GHDF log");
+            }
+            int Version = _buffer.getInt();
+            if (Version != VERSION)
+            {
+                throw new GHDFReadException("Unsupported GHDF log version: %d, supported: %d)".formatted(
+                        Version, VERSION));
+            }
+            _validLength = HEADER_SIZE;
+        }
+        catch (IOException e)
+        {
+            _channel.close();
+            throw e;
+        }
+    }
+
+
+    // Inherited methods.
+    @Override
+    public GHDFCompound Next() throws IOException
+    {
+        if (!ReadRecord())
+        {
+            return null;
+        }
+
+        long RecordOffset = _validLength - RECORD_HEADER_SIZE - _recordLength;
+        int Limit = _buffer.limit();
+        int End = _buffer.position() + _recordLength;
+        _buffer.limit(End);
+        try
+        {
+            GHDFCompound Compound = _reader.ReadCompound(_buffer);
+            if (_buffer.hasRemaining())
+            {
+                throw new GHDFReadException("Trailing data detected in GHDF log record.");
+            }
+            return Compound;
+        }
+        catch (GHDFReadException e)
+        {
+            throw new GHDFReadException("Exception reading log record at offset %d. Inner message: { %s }"
+                    .formatted(RecordOffset, e.getMessage()));
+        }
+        finally
+        {
+            _buffer.limit(Limit).position(End);
+            _recordLength = -1;
+        }
+    }
+
+    @Override
+    public long GetValidLength()
+    {
+        return _validLength;
+    }
+
+    @Override
+    public Iterator<GHDFCompound> iterator()
+    {
+        return new Iterator<>()
+        {
+            private GHDFCompound _next = null;
+
+            @Override
+            public boolean hasNext()
+            {
+                if (_next == null)
+                {
+                    try
+                    {
+                        _next = Next();
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return _next != null;
+            }
+
+            @Override
+            public GHDFCompound next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                GHDFCompound Value = _next;
+                _next = null;
+                return Value;
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        _channel.close();
+    }
+
+
+    // Package-private methods.
+    boolean ReadRecord() throws IOException
+    {
+        // A record which is cut off or damaged at the end of the file is treated as the end of the log, since
+        // that is what an interrupted append leaves behind. Damage anywhere else is reported, the records after
+        // it are still intact and must not be dropped.
+        if (_isHeaderMissing || !Fill(RECORD_HEADER_SIZE))
+        {
+            return false;
+        }
+
+        int Length = _buffer.getInt(_buffer.position());
+        int Checksum = _buffer.getInt(_buffer.position() + Integer.BYTES);
+        long RecordEnd = _validLength + RECORD_HEADER_SIZE + Length;
+        if (Length <= 0)
+        {
+            // An interrupted append can leave the file extended but zero filled.
+            if (IsZeroFilledToEnd())
+            {
+                return false;
+            }
+            throw new GHDFReadException("Invalid length %d of GHDF log record at offset %d".formatted(
+                    Length, _validLength));
+        }
+        if ((RecordEnd > _fileSize) || !Fill(RECORD_HEADER_SIZE + Length))
+        {
+            return false;
+        }
+
+        _checksum.reset();
+        _checksum.update(_buffer.array(), _buffer.arrayOffset() + _buffer.position() + RECORD_HEADER_SIZE, Length);
+        if ((int)_checksum.getValue() != Checksum)
+        {
+            if (RecordEnd == _fileSize)
+            {
+                return false;
+            }
+            throw new GHDFReadException("Checksum mismatch in GHDF log record at offset %d".formatted(_validLength));
+        }
+
+        _buffer.position(_buffer.position() + RECORD_HEADER_SIZE);
+        _recordLength = Length;
+        _validLength = RecordEnd;
+        return true;
+    }
+
+    void SkipRecord()
+    {
+        _buffer.position(_buffer.position() + _recordLength);
+        _recordLength = -1;
+    }
+
+
+    // Private methods.
+    private boolean IsHeaderMissing() throws IOException
+    {
+        if (Fill(HEADER_SIZE))
+        {
+            for (int i = 0; i < HEADER_SIZE; i++)
+            {
+                if (_buffer.get(_buffer.position() + i) != 0)
+                {
+                    return false;
+                }
+            }
+            return IsZeroFilledToEnd();
+        }
+
+        ByteBuffer Header = ByteBuffer.allocate(HEADER_SIZE).order(GHDF.ENDIANNESS).put(GHDF.LOG_SIGNATURE)
+                .putInt(VERSION);
+        boolean IsZeroFilled = true;
+        boolean IsHeaderStart = true;
+        for (int i = 0; i < _buffer.remaining(); i++)
+        {
+            byte Value = _buffer.get(_buffer.position() + i);
+            IsZeroFilled &= Value == 0;
+            IsHeaderStart &= Value == Header.get(i);
+        }
+        return IsZeroFilled || IsHeaderStart;
+    }
+
+    private boolean IsZeroFilledToEnd() throws IOException
+    {
+        ByteBuffer Data = ByteBuffer.allocate(BUFFER_SIZE);
+        long Position = _validLength;
+        while (Position < _fileSize)
+        {
+            Data.clear();
+            int Count = _channel.read(Data, Position);
+            if (Count < 0)
+            {
+                break;
+            }
+            for (int i = 0; i < Count; i++)
+            {
+                if (Data.get(i) != 0)
+                {
+                    return false;
+                }
+            }
+            Position += Count;
+        }
+        return true;
+    }
+
+    private boolean Fill(int count) throws IOException
+    {
+        if (_buffer.remaining() >= count)
+        {
+            return true;
+        }
+
+        if (_buffer.capacity() < count)
+        {
+            ByteBuffer NewBuffer = ByteBuffer.allocate(Math.max(count, _buffer.capacity() * 2))
+                    .order(GHDF.ENDIANNESS);
+            _buffer = NewBuffer.put(_buffer);
+        }
+        else
+        {
+            _buffer.compact();
+        }
+
+        try
+        {
+            while (_buffer.position() < count)
+            {
+                if (_channel.read(_buffer) < 0)
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            _buffer.flip();
+        }
+        return _buffer.remaining() >= count;
+    }
+}
@@ -0,0 +1,141 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+class GHDFLogWriter implements IGHDFLogWriter
+{
+    // Private static fields.
+    private static final int BUFFER_SIZE = 65536;
+
+
+    // Private fields.
+    private final FileChannel _channel;
+    private final GHDFWriterVersion1 _writer = new GHDFWriterVersion1();
+    private final GHDFOutputBuffer _buffer = new GHDFOutputBuffer(BUFFER_SIZE);
+    private final CRC32C _checksum = new CRC32C();
+
+
+    // Constructors.
+    GHDFLogWriter(String filePath) throws IOException
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+
+        // Anything past the last complete record is the remainder of an interrupted append and is cut off. A log
+        // without a valid length has no complete header either and is started over.
+        Path LogPath = Path.of(filePath);
+        long ValidLength = 0L;
+        if (Files.exists(LogPath) && (Files.size(LogPath) > 0L))
+        {
+            try (GHDFLogReader Reader = new GHDFLogReader(filePath))
+            {
+                while (Reader.ReadRecord())
+                {
+                    Reader.SkipRecord();
+                }
+                ValidLength = Reader.GetValidLength();
+            }
+        }
+
+        _channel = FileChannel.open(LogPath, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try
+        {
+            if (ValidLength == 0L)
+            {
+                _channel.truncate(0L);
+                _buffer.PutBytes(GHDF.LOG_SIGNATURE);
+                _buffer.PutInt(GHDFLogReader.VERSION);
+                WriteBuffer();
+                _channel.force(true);
+            }
+            else
+            {
+                _channel.truncate(ValidLength);
+                _channel.position(ValidLength);
+            }
+        }
+        catch (IOException e)
+        {
+            _channel.close();
+            throw e;
+        }
+    }
+
+
+    // Inherited methods.
+    @Override
+    public void Append(GHDFCompound compound) throws IOException
+    {
+        if (compound == null)
+        {
+            throw new IllegalArgumentException("compound is null");
+        }
+        Append(List.of(compound));
+    }
+
+    @Override
+    public void Append(List<GHDFCompound> compounds) throws IOException
+    {
+        if (compounds == null)
+        {
+            throw new IllegalArgumentException("compounds is null");
+        }
+
+        // The whole batch is encoded before anything is written, a failing record leaves the log untouched.
+        try
+        {
+            for (GHDFCompound Compound : compounds)
+            {
+                if (Compound == null)
+                {
+                    throw new IllegalArgumentException("compound is null");
+                }
+
+                int Start = _buffer.GetSize();
+                _buffer.PutInt(0);
+                _buffer.PutInt(0);
+                _writer.WriteCompound(_buffer, Compound);
+
+                int Length = _buffer.GetSize() - Start - GHDFLogReader.RECORD_HEADER_SIZE;
+                _checksum.reset();
+                _buffer.UpdateChecksum(_checksum, Start + GHDFLogReader.RECORD_HEADER_SIZE, Length);
+                _buffer.SetInt(Start, Length);
+                _buffer.SetInt(Start + Integer.BYTES, (int)_checksum.getValue());
+            }
+            WriteBuffer();
+        }
+        finally
+        {
+            _buffer.Reset();
+        }
+    }
+
+    @Override
+    public void Sync() throws IOException
+    {
+        _channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        _channel.close();
+    }
+
+
+    // Private methods.
+    private void WriteBuffer() throws IOException
+    {
+        _buffer.SetSink(_channel);
+        _buffer.Flush();
+        _buffer.Reset();
+    }
+}
@@ -0,0 +1,235 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+class GHDFMappedReaderVersion1 implements IGHDFReader
+{
+    // Static fields.
+    static final GHDFMappedReaderVersion1 SHARED_INSTANCE = new GHDFMappedReaderVersion1();
+
+
+    // Private fields.
+    private final GHDFReaderVersion1 _reader;
+
+
+    // Constructors.
+    public GHDFMappedReaderVersion1()
+    {
+        this(new GHDFReadOptions());
+    }
+
+    public GHDFMappedReaderVersion1(GHDFReadOptions options)
+    {
+        _reader = new GHDFReaderVersion1(options);
+    }
+
+
+    // Inherited methods.
+    @Override
+    public GHDFCompound Read(String filePath) throws IOException
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+
+        return Read(MapFile(filePath));
+    }
+
+    @Override
+    public GHDFCompound Read(InputStream stream) throws IOException
+    {
+        return Read(ByteBuffer.wrap(stream.readAllBytes()));
+    }
+
+    @Override
+    public GHDFCompound Read(String filePath, GHDFProjection projection) throws IOException
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+        if (projection == null)
+        {
+            throw new IllegalArgumentException("projection is null");
+        }
+        return _reader.Read(MapFile(filePath), projection);
+    }
+
+    @Override
+    public CompletableFuture<GHDFCompound> ReadAsync(String filePath)
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+        return GHDFAsyncIO.ReadFile(Path.of(filePath)).thenApplyAsync(GHDFAsyncIO.Unchecked(this::Read),
+                _reader.GetOptions().GetAsyncExecutor());
+    }
+
+    @Override
+    public GHDFCompound Read(InputStream stream, GHDFProjection projection) throws IOException
+    {
+        return _reader.Read(stream, projection);
+    }
+
+
+    // Methods.
+    GHDFCompound Read(ByteBuffer data) throws IOException
+    {
+        GHDFReadEvent Event = new GHDFReadEvent();
+        if (_reader.IsInstrumented(Event))
+        {
+            return _reader.ReadInstrumented(data, Reader -> ReadDocument(data, Reader), Event);
+        }
+        return ReadDocument(data, _reader);
+    }
+
+    Object DecodeLazyValue(ByteBuffer data, GHDFType type)
+    {
+        try
+        {
+            if (type == GHDFType.Compound)
+            {
+                return ScanCompound(data, _reader);
+            }
+            if (type == GHDFType.CompoundArray)
+            {
+                GHDFCompound[] Values = new GHDFCompound[GHDFReaderVersion1.GetArrayLength(data)];
+                for (int i = 0; i < Values.length; i++)
+                {
+                    Values[i] = ScanCompound(data, _reader);
+                }
+                return Values;
+            }
+            return _reader.ReadValue(data, type);
+        }
+        catch (IOException | BufferUnderflowException e)
+        {
+            throw new GHDFEntryException("Failed to decode lazily read entry of type %s. Inner message: { %s }"
+                    .formatted(type.toString(), e.getMessage()));
+        }
+    }
+
+
+    // Private methods.
+    private GHDFCompound ReadDocument(ByteBuffer data, GHDFReaderVersion1 reader) throws IOException
+    {
+        ByteBuffer StreamData = data.order(GHDF.ENDIANNESS);
+        int Start = StreamData.position();
+        GHDFStatistics Statistics = reader.GetStatistics();
+        long Time = Statistics != null ? System.nanoTime() : 0L;
+        GHDFCompound Compound;
+
+        try
+        {
+            GHDFReaderVersion1.VerifySignature(StreamData);
+            int Flags = GHDFReaderVersion1.VerifyVersion(StreamData);
+            if ((Flags & GHDF.FLAG_STRING_TABLE) != 0)
+            {
+                // Lazy values would have to keep the document's string table alive, such documents are read eagerly.
+                return reader.Read(StreamData.position(Start));
+            }
+            if (Statistics != null)
+            {
+                Time = Statistics.AddHeaderNanos(Time);
+            }
+            if ((Flags & GHDF.FLAG_COMPRESSED) != 0)
+            {
+                ByteBuffer Body = reader.Decompress(StreamData);
+                if (Statistics != null)
+                {
+                    Time = Statistics.AddCompressionNanos(Time);
+                }
+                Compound = ScanCompound(Body, reader);
+                if (Body.remaining() > 0)
+                {
+                    throw new GHDFReadException("Trailing data detected in GHDF data stream.");
+                }
+            }
+            else
+            {
+                Compound = ScanCompound(StreamData, reader);
+            }
+            if (Statistics != null)
+            {
+                Statistics.AddCodingNanos(Time);
+            }
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new GHDFReadException("Failed to read GHDF data because it was incomplete. Inner message: %s"
+                    .formatted(e.getMessage()));
+        }
+
+        if (StreamData.remaining() > 0)
+        {
+            throw new GHDFReadException("Trailing data detected in GHDF data stream.");
+        }
+
+        return Compound;
+    }
+
+    private ByteBuffer MapFile(String filePath) throws IOException
+    {
+        try (FileChannel Channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ))
+        {
+            long Size = Channel.size();
+            if (Size > Integer.MAX_VALUE)
+            {
+                throw new GHDFReadException("Reader does not support mapping files larger than (2^31 - 1) bytes.");
+            }
+            return Channel.map(FileChannel.MapMode.READ_ONLY, 0, Size);
+        }
+    }
+
+    private GHDFCompound ScanCompound(ByteBuffer data, GHDFReaderVersion1 reader) throws IOException
+    {
+        // Lazy values are counted when they are scanned, entries inside them are not decoded as part of the read.
+        GHDFStatistics Statistics = reader.GetStatistics();
+        GHDFCompound Compound = new GHDFCompound();
+        int EntryCount = GHDFReaderVersion1.Read7BitEncodedInt(data);
+
+        for (int i = 0; i < EntryCount; i++)
+        {
+            int ID = GHDFReaderVersion1.Read7BitEncodedInt(data);
+            GHDFReaderVersion1.VerifyID(ID);
+            GHDFType EntryType = GHDFReaderVersion1.ReadEntryType(data, ID);
+
+            try
+            {
+                if ((EntryType == GHDFType.Compound) || EntryType.IsArray())
+                {
+                    int Start = data.position();
+                    GHDFReaderVersion1.SkipValue(data, EntryType);
+                    ByteBuffer ValueData = data.slice(Start, data.position() - Start).order(GHDF.ENDIANNESS);
+                    Compound.SetLazyEntry(ID, GHDFReaderVersion1.GetDecodedType(EntryType),
+                            new GHDFLazyValue(this, ValueData, EntryType));
+                    if (Statistics != null)
+                    {
+                        Statistics.CountEntry(EntryType);
+                        Statistics.RecordValueSize(EntryType, ValueData.remaining());
+                    }
+                }
+                else
+                {
+                    reader.ReadEntryValue(data, Compound, ID, EntryType);
+                }
+            }
+            catch (GHDFReadException e)
+            {
+                throw new GHDFReadException("Exception reading entry with ID %d. Inner message: { %s }"
+                        .formatted(ID, e.getMessage()));
+            }
+        }
+
+        return Compound;
+    }
+}
@@ -0,0 +1,495 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Checksum;
+
+final class GHDFOutputBuffer
+{
+    // Private static fields.
+    private static final VarHandle SHORT_HANDLE = MethodHandles.byteArrayViewVarHandle(
+            short[].class, GHDF.ENDIANNESS);
+    private static final VarHandle INT_HANDLE = MethodHandles.byteArrayViewVarHandle(
+            int[].class, GHDF.ENDIANNESS);
+    private static final VarHandle LONG_HANDLE = MethodHandles.byteArrayViewVarHandle(
+            long[].class, GHDF.ENDIANNESS);
+
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+
+    // Private fields.
+    private final int _initialCapacity;
+    private byte[] _data;
+    private ByteBuffer _dataView;
+    private int _position = 0;
+    private OutputStream _sinkStream = null;
+    private WritableByteChannel _sinkChannel = null;
+    private GHDFStatistics _statistics = null;
+
+
+    // Constructors.
+    GHDFOutputBuffer(int initialCapacity)
+    {
+        _initialCapacity = initialCapacity;
+        _data = new byte[initialCapacity];
+        _dataView = ByteBuffer.wrap(_data);
+    }
+
+
+    // Static methods.
+    static int GetUTF8Length(String value)
+    {
+        int CharCount = value.length();
+        int Length = CharCount;
+        for (int i = 0; i < CharCount; i++)
+        {
+            char CurrentChar = value.charAt(i);
+            if (CurrentChar < 0x80)
+            {
+                continue;
+            }
+            if (CurrentChar < 0x800)
+            {
+                Length += 1;
+            }
+            else if (!Character.isSurrogate(CurrentChar))
+            {
+                Length += 2;
+            }
+            else if (IsSurrogatePair(value, i))
+            {
+                Length += 2;
+                i++;
+            }
+        }
+        return Length;
+    }
+
+    static int Get7BitEncodedIntSize(int value)
+    {
+        return Math.max(1, (38 - Integer.numberOfLeadingZeros(value)) / 7);
+    }
+
+
+    // Methods.
+    int GetSize()
+    {
+        return _position;
+    }
+
+    byte[] ToArray()
+    {
+        return _position == _data.length ? _data : Arrays.copyOf(_data, _position);
+    }
+
+    void SetInt(int position, int value)
+    {
+        INT_HANDLE.set(_data, position, value);
+    }
+
+    void UpdateChecksum(Checksum checksum, int offset, int length)
+    {
+        checksum.update(_data, offset, length);
+    }
+
+    void SetSink(OutputStream stream)
+    {
+        _sinkStream = stream;
+        _sinkChannel = null;
+    }
+
+    void SetSink(WritableByteChannel channel)
+    {
+        _sinkStream = null;
+        _sinkChannel = channel;
+    }
+
+    void SetStatistics(GHDFStatistics statistics)
+    {
+        _statistics = statistics;
+    }
+
+    void Flush() throws IOException
+    {
+        if (_position == 0)
+        {
+            return;
+        }
+
+        long Time = _statistics != null ? System.nanoTime() : 0L;
+        if (_sinkStream != null)
+        {
+            _sinkStream.write(_data, 0, _position);
+        }
+        else if (_sinkChannel != null)
+        {
+            _dataView.clear().limit(_position);
+            while (_dataView.hasRemaining())
+            {
+                _sinkChannel.write(_dataView);
+            }
+        }
+        else
+        {
+            return;
+        }
+
+        if (_statistics != null)
+        {
+            _statistics.AddBytes(_position);
+            _statistics.AddFlushNanos(Time);
+        }
+        _position = 0;
+    }
+
+    void Reset()
+    {
+        if (_data.length > MAX_RETAINED_CAPACITY)
+        {
+            _data = new byte[_initialCapacity];
+            _dataView = ByteBuffer.wrap(_data);
+        }
+        _position = 0;
+        _sinkStream = null;
+        _sinkChannel = null;
+        _statistics = null;
+    }
+
+    void PutByte(byte value) throws IOException
+    {
+        Require(Byte.BYTES);
+        _data[_position++] = value;
+    }
+
+    void PutShort(short value) throws IOException
+    {
+        Require(Short.BYTES);
+        SHORT_HANDLE.set(_data, _position, value);
+        _position += Short.BYTES;
+    }
+
+    void PutInt(int value) throws IOException
+    {
+        Require(Integer.BYTES);
+        INT_HANDLE.set(_data, _position, value);
+        _position += Integer.BYTES;
+    }
+
+    void PutLong(long value) throws IOException
+    {
+        Require(Long.BYTES);
+        LONG_HANDLE.set(_data, _position, value);
+        _position += Long.BYTES;
+    }
+
+    void PutFloat(float value) throws IOException
+    {
+        PutInt(Float.floatToRawIntBits(value));
+    }
+
+    void PutDouble(double value) throws IOException
+    {
+        PutLong(Double.doubleToRawLongBits(value));
+    }
+
+    void PutBoolean(boolean value) throws IOException
+    {
+        PutByte(value ? (byte)1 : (byte)0);
+    }
+
+    void Put7BitEncodedInt(int value) throws IOException
+    {
+        Require(5);
+        long CurrentValue = value & 0xffffffffL;
+        do
+        {
+            _data[_position++] = (byte)((CurrentValue & 0b0111_1111)
+                    | (CurrentValue > 0b0111_1111 ? 0b1000_0000 : 0));
+            CurrentValue = CurrentValue >> 7;
+        } while (CurrentValue > 0);
+    }
+
+    void PutString(String value) throws IOException
+    {
+        int Length = GetUTF8Length(value);
+        Put7BitEncodedInt(Length);
+        if (HasSink() && (Length > _data.length))
+        {
+            PutBytes(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        Require(Length);
+
+        int CharCount = value.length();
+        for (int i = 0; i < CharCount; i++)
+        {
+            char CurrentChar = value.charAt(i);
+            if (CurrentChar < 0x80)
+            {
+                _data[_position++] = (byte)CurrentChar;
+            }
+            else if (CurrentChar < 0x800)
+            {
+                _data[_position++] = (byte)(0xC0 | (CurrentChar >> 6));
+                _data[_position++] = (byte)(0x80 | (CurrentChar & 0x3F));
+            }
+            else if (!Character.isSurrogate(CurrentChar))
+            {
+                _data[_position++] = (byte)(0xE0 | (CurrentChar >> 12));
+                _data[_position++] = (byte)(0x80 | ((CurrentChar >> 6) & 0x3F));
+                _data[_position++] = (byte)(0x80 | (CurrentChar & 0x3F));
+            }
+            else if (IsSurrogatePair(value, i))
+            {
+                int CodePoint = Character.toCodePoint(CurrentChar, value.charAt(++i));
+                _data[_position++] = (byte)(0xF0 | (CodePoint >> 18));
+                _data[_position++] = (byte)(0x80 | ((CodePoint >> 12) & 0x3F));
+                _data[_position++] = (byte)(0x80 | ((CodePoint >> 6) & 0x3F));
+                _data[_position++] = (byte)(0x80 | (CodePoint & 0x3F));
+            }
+            else
+            {
+                _data[_position++] = (byte)'?';
+            }
+        }
+    }
+
+    void PutBytes(byte[] values) throws IOException
+    {
+        if (HasSink() && (values.length >= _data.length / 2))
+        {
+            WriteDirect(ByteBuffer.wrap(values));
+            return;
+        }
+        Require(values.length);
+        System.arraycopy(values, 0, _data, _position, values.length);
+        _position += values.length;
+    }
+
+    void PutBytes(ByteBuffer values) throws IOException
+    {
+        int Length = values.remaining();
+        if (HasSink() && (Length >= _data.length / 2))
+        {
+            WriteDirect(values.duplicate());
+            return;
+        }
+        Require(Length);
+        values.get(values.position(), _data, _position, Length);
+        _position += Length;
+    }
+
+    void PutShorts(short[] values) throws IOException
+    {
+        int Index = 0;
+        while (Index < values.length)
+        {
+            int End = Index + Reserve(values.length - Index, Short.BYTES);
+            for (int i = Index; i < End; i++)
+            {
+                SHORT_HANDLE.set(_data, _position, values[i]);
+                _position += Short.BYTES;
+            }
+            Index = End;
+        }
+    }
+
+    void PutInts(int[] values) throws IOException
+    {
+        int Index = 0;
+        while (Index < values.length)
+        {
+            int End = Index + Reserve(values.length - Index, Integer.BYTES);
+            for (int i = Index; i < End; i++)
+            {
+                INT_HANDLE.set(_data, _position, values[i]);
+                _position += Integer.BYTES;
+            }
+            Index = End;
+        }
+    }
+
+    void PutLongs(long[] values) throws IOException
+    {
+        int Index = 0;
+        while (Index < values.length)
+        {
+            int End = Index + Reserve(values.length - Index, Long.BYTES);
+            for (int i = Index; i < End; i++)
+            {
+                LONG_HANDLE.set(_data, _position, values[i]);
+                _position += Long.BYTES;
+            }
+            Index = End;
+        }
+    }
+
+    void PutFloats(float[] values) throws IOException
+    {
+        int Index = 0;
+        while (Index < values.length)
+        {
+            int End = Index + Reserve(values.length - Index, Float.BYTES);
+            for (int i = Index; i < End; i++)
+            {
+                INT_HANDLE.set(_data, _position, Float.floatToRawIntBits(values[i]));
+                _position += Float.BYTES;
+            }
+            Index = End;
+        }
+    }
+
+    void PutDoubles(double[] values) throws IOException
+    {
+        int Index = 0;
+        while (Index < values.length)
+        {
+            int End = Index + Reserve(values.length - Index, Double.BYTES);
+            for (int i = Index; i < End; i++)
+            {
+                LONG_HANDLE.set(_data, _position, Double.doubleToRawLongBits(values[i]));
+                _position += Double.BYTES;
+            }
+            Index = End;
+        }
+    }
+
+    void PutBooleans(boolean[] values) throws IOException
+    {
+        int Index = 0;
+        while (Index < values.length)
+        {
+            int End = Index + Reserve(values.length - Index, 1);
+            for (int i = Index; i < End; i++)
+            {
+                _data[_position++] = values[i] ? (byte)1 : (byte)0;
+            }
+            Index = End;
+        }
+    }
+
+
+    // Private static methods.
+    private static boolean IsSurrogatePair(String value, int index)
+    {
+        return Character.isHighSurrogate(value.charAt(index)) && (index + 1 < value.length())
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+
+    // Private methods.
+    private boolean HasSink()
+    {
+        return (_sinkStream != null) || (_sinkChannel != null);
+    }
+
+    private int Reserve(int elementCount, int elementSize) throws IOException
+    {
+        if (!HasSink())
+        {
+            Require((long)elementCount * elementSize);
+            return elementCount;
+        }
+
+        Require(elementSize);
+        return Math.min(elementCount, (_data.length - _position) / elementSize);
+    }
+
+    private void Require(long count) throws IOException
+    {
+        if (_data.length - _position >= count)
+        {
+            return;
+        }
+
+        Flush();
+        if (_data.length - _position >= count)
+        {
+            return;
+        }
+
+        long NewCapacity = Math.max((long)_data.length * 2L, _position + count);
+        if (NewCapacity > Integer.MAX_VALUE - 8)
+        {
+            NewCapacity = Integer.MAX_VALUE - 8;
+            if (NewCapacity - _position < count)
+            {
+                throw new OutOfMemoryError("GHDF output buffer cannot exceed (2^31 - 9) bytes.");
+            }
+        }
+        _data = Arrays.copyOf(_data, (int)NewCapacity);
+        _dataView = ByteBuffer.wrap(_data);
+    }
+
+    private void WriteDirect(ByteBuffer values) throws IOException
+    {
+        GHDFStatistics Statistics = _statistics;
+        if (Statistics == null)
+        {
+            WriteToSink(values);
+            return;
+        }
+
+        // Pending data is always written out along with the values, the nested flush is not measured on its own.
+        long Count = _position + values.remaining();
+        long Time = System.nanoTime();
+        _statistics = null;
+        try
+        {
+            WriteToSink(values);
+        }
+        finally
+        {
+            _statistics = Statistics;
+        }
+        Statistics.AddBytes(Count);
+        Statistics.AddFlushNanos(Time);
+    }
+
+    private void WriteToSink(ByteBuffer values) throws IOException
+    {
+        if ((_sinkStream != null) && values.hasArray())
+        {
+            Flush();
+            _sinkStream.write(values.array(), values.arrayOffset() + values.position(), values.remaining());
+            return;
+        }
+        if (_sinkStream != null)
+        {
+            Flush();
+            byte[] Chunk = new byte[Math.min(values.remaining(), _data.length)];
+            while (values.hasRemaining())
+            {
+                int Count = Math.min(values.remaining(), Chunk.length);
+                values.get(Chunk, 0, Count);
+                _sinkStream.write(Chunk, 0, Count);
+            }
+            return;
+        }
+
+        ByteBuffer ValuesView = values;
+        if (!(_sinkChannel instanceof GatheringByteChannel GatheringChannel))
+        {
+            Flush();
+            while (ValuesView.hasRemaining())
+            {
+                _sinkChannel.write(ValuesView);
+            }
+            return;
+        }
+
+        ByteBuffer[] Sources = new ByteBuffer[] { _dataView.clear().limit(_position), ValuesView };
+        while (ValuesView.hasRemaining())
+        {
+            GatheringChannel.write(Sources);
+        }
+        _position = 0;
+    }
+}
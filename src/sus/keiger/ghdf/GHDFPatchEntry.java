@@ -0,0 +1,146 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public final class GHDFPatchEntry
+{
+    // Private fields.
+    private final ByteBuffer _data;
+    private final int _offset;
+    private final GHDFType _type;
+
+
+    // Constructors.
+    GHDFPatchEntry(ByteBuffer data, int offset, GHDFType type)
+    {
+        _data = data;
+        _offset = offset;
+        _type = type;
+    }
+
+
+    // Methods.
+    public GHDFType GetType()
+    {
+        return _type;
+    }
+
+    public long GetOffset()
+    {
+        return _offset;
+    }
+
+    public long GetLong()
+    {
+        return switch (_type)
+        {
+            case Int8, UInt8 -> _data.get(_offset);
+            case Int16, UInt16 -> _data.getShort(_offset);
+            case Int32, UInt32 -> _data.getInt(_offset);
+            case Int64, UInt64 -> _data.getLong(_offset);
+            default -> throw new GHDFTypeException("Entry of type %s is not an integer.".formatted(_type));
+        };
+    }
+
+    public double GetDouble()
+    {
+        return switch (_type)
+        {
+            case Float -> _data.getFloat(_offset);
+            case Double -> _data.getDouble(_offset);
+            default -> throw new GHDFTypeException("Entry of type %s is not a floating point number."
+                    .formatted(_type));
+        };
+    }
+
+    public boolean GetBoolean()
+    {
+        if (_type != GHDFType.Boolean)
+        {
+            throw new GHDFTypeException("Entry of type %s is not a boolean.".formatted(_type));
+        }
+        return _data.get(_offset) != 0;
+    }
+
+    public void SetLong(long value) throws IOException
+    {
+        // Unsigned entries are treated as signed like everywhere else, the value is never silently truncated.
+        if ((value < GetMinValue()) || (value > GetMaxValue()))
+        {
+            throw new GHDFWriteException("Value %d does not fit into entry of type %s.".formatted(value, _type));
+        }
+
+        switch (GHDFReaderVersion1.GetFixedSize(_type))
+        {
+            case 1 -> _data.put(_offset, (byte)value);
+            case 2 -> _data.putShort(_offset, (short)value);
+            case 4 -> _data.putInt(_offset, (int)value);
+            default -> _data.putLong(_offset, value);
+        }
+    }
+
+    public void SetInt(int value) throws IOException
+    {
+        SetLong(value);
+    }
+
+    public void SetDouble(double value) throws IOException
+    {
+        if (_type == GHDFType.Double)
+        {
+            _data.putDouble(_offset, value);
+            return;
+        }
+        if (_type != GHDFType.Float)
+        {
+            throw new GHDFTypeException("Entry of type %s is not a floating point number.".formatted(_type));
+        }
+        if (((float)value != value) && !Double.isNaN(value))
+        {
+            throw new GHDFWriteException("Value %s does not fit into entry of type %s.".formatted(value, _type));
+        }
+        _data.putFloat(_offset, (float)value);
+    }
+
+    public void SetBoolean(boolean value)
+    {
+        if (_type != GHDFType.Boolean)
+        {
+            throw new GHDFTypeException("Entry of type %s is not a boolean.".formatted(_type));
+        }
+        _data.put(_offset, (byte)(value ? 1 : 0));
+    }
+
+
+    // Package-private static methods.
+    static boolean IsPatchable(GHDFType type)
+    {
+        return !type.IsArray() && (GHDFReaderVersion1.GetFixedSize(type) > 0);
+    }
+
+
+    // Private methods.
+    private long GetMinValue()
+    {
+        return switch (_type)
+        {
+            case Int8, UInt8 -> Byte.MIN_VALUE;
+            case Int16, UInt16 -> Short.MIN_VALUE;
+            case Int32, UInt32 -> Integer.MIN_VALUE;
+            case Int64, UInt64 -> Long.MIN_VALUE;
+            default -> throw new GHDFTypeException("Entry of type %s is not an integer.".formatted(_type));
+        };
+    }
+
+    private long GetMaxValue()
+    {
+        return switch (_type)
+        {
+            case Int8, UInt8 -> Byte.MAX_VALUE;
+            case Int16, UInt16 -> Short.MAX_VALUE;
+            case Int32, UInt32 -> Integer.MAX_VALUE;
+            default -> Long.MAX_VALUE;
+        };
+    }
+}
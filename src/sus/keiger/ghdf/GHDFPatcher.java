@@ -0,0 +1,153 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class GHDFPatcher
+{
+    // Private fields.
+    private final Path _filePath;
+    private final MappedByteBuffer _data;
+    private final int _bodyOffset;
+    private final boolean _isStringTableUsed;
+
+
+    // Constructors.
+    private GHDFPatcher(Path filePath, MappedByteBuffer data, int bodyOffset, boolean isStringTableUsed)
+    {
+        _filePath = filePath;
+        _data = data;
+        _bodyOffset = bodyOffset;
+        _isStringTableUsed = isStringTableUsed;
+    }
+
+
+    // Static methods.
+    public static GHDFPatcher Open(String filePath) throws IOException
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+
+        // The mapping stays valid after the channel is closed.
+        Path DataPath = Path.of(filePath);
+        MappedByteBuffer Data;
+        try (FileChannel Channel = FileChannel.open(DataPath, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            long FileSize = Channel.size();
+            if (FileSize > Integer.MAX_VALUE)
+            {
+                throw new GHDFReadException("Cannot patch files larger than (2^31 - 1) bytes.");
+            }
+            Data = Channel.map(FileChannel.MapMode.READ_WRITE, 0, FileSize);
+        }
+        Data.order(GHDF.ENDIANNESS);
+
+        try
+        {
+            GHDFReaderVersion1.VerifySignature(Data);
+            int Flags = GHDFReaderVersion1.VerifyVersion(Data);
+            if ((Flags & GHDF.FLAG_COMPRESSED) != 0)
+            {
+                throw new GHDFReadException("Cannot patch compressed GHDF data.");
+            }
+
+            boolean IsStringTableUsed = (Flags & GHDF.FLAG_STRING_TABLE) != 0;
+            if (IsStringTableUsed)
+            {
+                int Length = GHDFReaderVersion1.GetArrayLength(Data);
+                for (int i = 0; i < Length; i++)
+                {
+                    GHDFReaderVersion1.SkipString(Data, false);
+                }
+            }
+            return new GHDFPatcher(DataPath, Data, Data.position(), IsStringTableUsed);
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new GHDFReadException("Failed to open GHDF data for patching because it was incomplete.");
+        }
+    }
+
+
+    // Methods.
+    public GHDFPatchEntry Find(int... idPath) throws IOException
+    {
+        if ((idPath == null) || (idPath.length == 0))
+        {
+            throw new IllegalArgumentException("idPath is null or empty");
+        }
+
+        GHDFPatchEntry Entry;
+        try
+        {
+            Entry = FindEntry(idPath);
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new GHDFReadException("Failed to locate GHDF entry because the data was incomplete.");
+        }
+
+        if ((Entry != null) && !GHDFPatchEntry.IsPatchable(Entry.GetType()))
+        {
+            throw new GHDFReadException("Entry %s in \"%s\" is of type %s, only fixed-width values can be patched."
+                    .formatted(Arrays.toString(idPath), _filePath.toString(), Entry.GetType()));
+        }
+        return Entry;
+    }
+
+    public void Force()
+    {
+        _data.force();
+    }
+
+
+    // Private methods.
+    private GHDFPatchEntry FindEntry(int[] idPath) throws IOException
+    {
+        // Each level is scanned once, every entry that is not on the path is skipped without being decoded.
+        ByteBuffer Data = _data.duplicate().order(GHDF.ENDIANNESS);
+        Data.position(_bodyOffset);
+        int Depth = 0;
+
+        while (true)
+        {
+            int EntryCount = GHDFReaderVersion1.Read7BitEncodedInt(Data);
+            boolean IsFound = false;
+            for (int i = 0; (i < EntryCount) && !IsFound; i++)
+            {
+                int ID = GHDFReaderVersion1.Read7BitEncodedInt(Data);
+                GHDFReaderVersion1.VerifyID(ID);
+                GHDFType Type = GHDFReaderVersion1.ReadEntryType(Data, ID);
+
+                if (ID != idPath[Depth])
+                {
+                    GHDFReaderVersion1.SkipValue(Data, Type, _isStringTableUsed);
+                    continue;
+                }
+                if (Depth == idPath.length - 1)
+                {
+                    return new GHDFPatchEntry(_data, Data.position(), Type);
+                }
+                if (Type != GHDFType.Compound)
+                {
+                    return null;
+                }
+                IsFound = true;
+            }
+
+            if (!IsFound)
+            {
+                return null;
+            }
+            Depth++;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package sus.keiger.ghdf;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class GHDFProjection
+{
+    // Private fields.
+    private int[] _childIDs = new int[0];
+    private GHDFProjection[] _children = new GHDFProjection[0];
+    private boolean _isComplete = false;
+
+
+    // Methods.
+    public GHDFProjection Add(int... idPath)
+    {
+        if ((idPath == null) || (idPath.length == 0))
+        {
+            throw new IllegalArgumentException("idPath is empty");
+        }
+
+        GHDFProjection Node = this;
+        for (int ID : idPath)
+        {
+            if (ID == 0)
+            {
+                throw new GHDFEntryException("An entry with the ID 0 is not allowed");
+            }
+            Node = Node.GetOrCreateChild(ID);
+        }
+        Node._isComplete = true;
+        return this;
+    }
+
+
+    // Package-private methods.
+    GHDFProjection GetChild(int id)
+    {
+        int Index = Arrays.binarySearch(_childIDs, id);
+        return Index >= 0 ? _children[Index] : null;
+    }
+
+    boolean IsComplete()
+    {
+        return _isComplete;
+    }
+
+    void Apply(GHDFCompound compound)
+    {
+        // Keeps the same entries a projected read would, for a compound that was already decoded in full.
+        Iterator<Integer> IDs = compound.GetIDs().iterator();
+        while (IDs.hasNext())
+        {
+            int ID = IDs.next();
+            GHDFProjection Child = GetChild(ID);
+            GHDFType Type = compound.GetTypeOfEntry(ID);
+            if ((Child != null) && Child.IsComplete())
+            {
+                continue;
+            }
+
+            if ((Child != null) && (Type == GHDFType.Compound))
+            {
+                Child.Apply(compound.GetEntry(ID));
+            }
+            else if ((Child != null) && (Type == GHDFType.CompoundArray))
+            {
+                for (GHDFCompound Element : compound.<GHDFCompound[]>GetEntry(ID))
+                {
+                    if (Element != null)
+                    {
+                        Child.Apply(Element);
+                    }
+                }
+            }
+            else
+            {
+                IDs.remove();
+            }
+        }
+    }
+
+
+    // Private methods.
+    private GHDFProjection GetOrCreateChild(int id)
+    {
+        int Index = Arrays.binarySearch(_childIDs, id);
+        if (Index >= 0)
+        {
+            return _children[Index];
+        }
+
+        int InsertIndex = -(Index + 1);
+        GHDFProjection Child = new GHDFProjection();
+        _childIDs = Insert(_childIDs, InsertIndex, id);
+        GHDFProjection[] Children = new GHDFProjection[_children.length + 1];
+        System.arraycopy(_children, 0, Children, 0, InsertIndex);
+        System.arraycopy(_children, InsertIndex, Children, InsertIndex + 1, _children.length - InsertIndex);
+        Children[InsertIndex] = Child;
+        _children = Children;
+        return Child;
+    }
+
+    private int[] Insert(int[] array, int index, int value)
+    {
+        int[] Result = new int[array.length + 1];
+        System.arraycopy(array, 0, Result, 0, index);
+        System.arraycopy(array, index, Result, index + 1, array.length - index);
+        Result[index] = value;
+        return Result;
+    }
+}
@@ -0,0 +1,51 @@
+package sus.keiger.ghdf;
+
+import jdk.jfr.*;
+
+@Name("sus.keiger.ghdf.Read")
+@Label("GHDF Read")
+@Category("GHDF")
+@StackTrace(false)
+class GHDFReadEvent extends Event
+{
+    // Fields.
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes;
+
+    @Label("Entries Decoded")
+    long entries;
+
+    @Label("Header Check Duration")
+    @Timespan
+    long headerDuration;
+
+    @Label("Decompression Duration")
+    @Timespan
+    long compressionDuration;
+
+    @Label("Decode Duration")
+    @Timespan
+    long decodeDuration;
+
+    @Label("Largest Array")
+    @DataAmount
+    long largestArray;
+
+    @Label("Largest String")
+    @DataAmount
+    long largestString;
+
+
+    // Methods.
+    void Set(GHDFStatistics statistics)
+    {
+        bytes = statistics.GetByteCount();
+        entries = statistics.GetEntryCount();
+        headerDuration = statistics.GetHeaderNanos();
+        compressionDuration = statistics.GetCompressionNanos();
+        decodeDuration = statistics.GetCodingNanos();
+        largestArray = statistics.GetLargestArraySize();
+        largestString = statistics.GetLargestStringSize();
+    }
+}
@@ -0,0 +1,115 @@
+package sus.keiger.ghdf;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+public class GHDFReadOptions
+{
+    // Private static fields.
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+
+    // Private fields.
+    private boolean _isArrayViewsEnabled = false;
+    private boolean _isColumnarArraysEnabled = false;
+    private boolean _isParallelDecodingEnabled = false;
+    private int _parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private ForkJoinPool _parallelPool = null;
+    private Executor _asyncExecutor = null;
+    private IGHDFListener _listener = null;
+    private GHDFStringCache _stringCache = null;
+
+
+    // Methods.
+    public GHDFReadOptions SetArrayViewsEnabled(boolean value)
+    {
+        _isArrayViewsEnabled = value;
+        return this;
+    }
+
+    public boolean IsArrayViewsEnabled()
+    {
+        return _isArrayViewsEnabled;
+    }
+
+    public GHDFReadOptions SetColumnarArraysEnabled(boolean value)
+    {
+        _isColumnarArraysEnabled = value;
+        return this;
+    }
+
+    public boolean IsColumnarArraysEnabled()
+    {
+        return _isColumnarArraysEnabled;
+    }
+
+    public GHDFReadOptions SetParallelDecodingEnabled(boolean value)
+    {
+        _isParallelDecodingEnabled = value;
+        return this;
+    }
+
+    public boolean IsParallelDecodingEnabled()
+    {
+        return _isParallelDecodingEnabled;
+    }
+
+    public GHDFReadOptions SetParallelThreshold(int value)
+    {
+        if (value <= 0)
+        {
+            throw new IllegalArgumentException("Parallel threshold must be positive, got %d".formatted(value));
+        }
+        _parallelThreshold = value;
+        return this;
+    }
+
+    public int GetParallelThreshold()
+    {
+        return _parallelThreshold;
+    }
+
+    public GHDFReadOptions SetParallelPool(ForkJoinPool pool)
+    {
+        _parallelPool = pool;
+        return this;
+    }
+
+    public ForkJoinPool GetParallelPool()
+    {
+        return _parallelPool != null ? _parallelPool : ForkJoinPool.commonPool();
+    }
+
+    public GHDFReadOptions SetAsyncExecutor(Executor executor)
+    {
+        _asyncExecutor = executor;
+        return this;
+    }
+
+    public Executor GetAsyncExecutor()
+    {
+        return _asyncExecutor != null ? _asyncExecutor : ForkJoinPool.commonPool();
+    }
+
+    public GHDFReadOptions SetListener(IGHDFListener listener)
+    {
+        _listener = listener;
+        return this;
+    }
+
+    public IGHDFListener GetListener()
+    {
+        return _listener;
+    }
+
+    public GHDFReadOptions SetStringCache(GHDFStringCache cache)
+    {
+        _stringCache = cache;
+        return this;
+    }
+
+    public GHDFStringCache GetStringCache()
+    {
+        return _stringCache;
+    }
+}
@@ -6,47 +6,58 @@ import java.io.InputStream;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 class GHDFReaderVersion1 implements IGHDFReader
 {
-    // Private fields.
-    private final int VERSION = 1;
-    private final Map<GHDFType, TypeReadMethod> _readMethods = new HashMap<>();
+    // Static fields.
+    static final int VERSION = 1;
+    static final GHDFReaderVersion1 SHARED_INSTANCE = new GHDFReaderVersion1();
+
 
+    // Private fields.
+    private final GHDFReadOptions _options;
+    private final IGHDFListener _listener;
+    private final GHDFStatistics _statistics;
+    private final String[] _stringTable;
+    private final boolean _isArrayViewsEnabled;
+    private final boolean _isColumnarArraysEnabled;
+    private final GHDFStringCache _stringCache;
+    private final ForkJoinPool _parallelPool;
+    private final int _parallelThreshold;
 
 
     // Constructors.
     public GHDFReaderVersion1()
     {
-        _readMethods.put(GHDFType.Int8, this::ReadByte);
-        _readMethods.put(GHDFType.UInt8, this::ReadByte);
-        _readMethods.put(GHDFType.Int16, this::ReadShort);
-        _readMethods.put(GHDFType.UInt16, this::ReadShort);
-        _readMethods.put(GHDFType.Int32, this::ReadInt);
-        _readMethods.put(GHDFType.UInt32, this::ReadInt);
-        _readMethods.put(GHDFType.Int64, this::ReadLong);
-        _readMethods.put(GHDFType.UInt64, this::ReadLong);
-        _readMethods.put(GHDFType.Float, this::ReadFloat);
-        _readMethods.put(GHDFType.Double, this::ReadDouble);
-        _readMethods.put(GHDFType.Boolean, this::ReadBoolean);
-        _readMethods.put(GHDFType.String, this::ReadString);
-        _readMethods.put(GHDFType.Compound, this::ReadCompound);
-        _readMethods.put(GHDFType.Int8Array, this::ReadByteArray);
-        _readMethods.put(GHDFType.UInt8Array, this::ReadByteArray);
-        _readMethods.put(GHDFType.Int16Array, this::ReadShortArray);
-        _readMethods.put(GHDFType.UInt16Array, this::ReadShortArray);
-        _readMethods.put(GHDFType.Int32Array, this::ReadIntArray);
-        _readMethods.put(GHDFType.UInt32Array, this::ReadIntArray);
-        _readMethods.put(GHDFType.Int64Array, this::ReadLongArray);
-        _readMethods.put(GHDFType.UInt64Array, this::ReadLongArray);
-        _readMethods.put(GHDFType.FloatArray, this::ReadFloatArray);
-        _readMethods.put(GHDFType.DoubleArray, this::ReadDoubleArray);
-        _readMethods.put(GHDFType.BooleanArray, this::ReadBooleanArray);
-        _readMethods.put(GHDFType.StringArray, this::ReadStringArray);
-        _readMethods.put(GHDFType.CompoundArray, this::ReadCompoundArray);
+        this(new GHDFReadOptions());
+    }
+
+    public GHDFReaderVersion1(GHDFReadOptions options)
+    {
+        this(options, null, null);
+    }
+
+    GHDFReaderVersion1(GHDFReadOptions options, GHDFStatistics statistics, String[] stringTable)
+    {
+        _options = options;
+        _listener = options.GetListener();
+        _statistics = statistics;
+        _stringTable = stringTable;
+        _isArrayViewsEnabled = options.IsArrayViewsEnabled();
+        _isColumnarArraysEnabled = options.IsColumnarArraysEnabled();
+        _stringCache = options.GetStringCache();
+        _parallelPool = options.IsParallelDecodingEnabled() && (options.GetParallelPool().getParallelism() > 1)
+                ? options.GetParallelPool() : null;
+        _parallelThreshold = options.GetParallelThreshold();
     }
 
 
@@ -72,14 +83,103 @@ class GHDFReaderVersion1 implements IGHDFReader
     @Override
     public GHDFCompound Read(InputStream stream) throws IOException
     {
-        ByteBuffer StreamData = ByteBuffer.wrap(stream.readAllBytes()).order(GHDF.ENDIANNESS);
+        return Read(ByteBuffer.wrap(stream.readAllBytes()));
+    }
+
+    @Override
+    public GHDFCompound Read(String filePath, GHDFProjection projection) throws IOException
+    {
+        try (InputStream FileStream = new FileInputStream(filePath))
+        {
+            return Read(FileStream, projection);
+        }
+    }
+
+    @Override
+    public GHDFCompound Read(InputStream stream, GHDFProjection projection) throws IOException
+    {
+        if (projection == null)
+        {
+            throw new IllegalArgumentException("projection is null");
+        }
+        return Read(ByteBuffer.wrap(stream.readAllBytes()), projection);
+    }
+
+    @Override
+    public CompletableFuture<GHDFCompound> ReadAsync(String filePath)
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+        // Decoding is handed off to the async executor, the channel's own threads only complete the read.
+        return GHDFAsyncIO.ReadFile(Path.of(filePath)).thenApplyAsync(GHDFAsyncIO.Unchecked(this::Read),
+                _options.GetAsyncExecutor());
+    }
+
+
+    // Package-private methods.
+    int GetVersion()
+    {
+        return VERSION;
+    }
+
+    GHDFCompound Read(ByteBuffer data) throws IOException
+    {
+        return Read(data, null);
+    }
+
+    GHDFCompound Read(ByteBuffer data, GHDFProjection projection) throws IOException
+    {
+        if (_statistics == null)
+        {
+            GHDFReadEvent Event = new GHDFReadEvent();
+            if (IsInstrumented(Event))
+            {
+                return ReadInstrumented(data, Reader -> Reader.Read(data, projection), Event);
+            }
+        }
+
+        ByteBuffer StreamData = data.order(GHDF.ENDIANNESS);
+        GHDFStatistics Statistics = _statistics;
+        long Time = Statistics != null ? System.nanoTime() : 0L;
         GHDFCompound Compound;
 
         try
         {
             VerifySignature(StreamData);
-            VerifyVersion(StreamData);
-            Compound = ReadCompound(StreamData);
+            int Flags = VerifyVersion(StreamData, GetVersion());
+            if (Statistics != null)
+            {
+                Time = Statistics.AddHeaderNanos(Time);
+            }
+
+            ByteBuffer Body = StreamData;
+            if ((Flags & GHDF.FLAG_COMPRESSED) != 0)
+            {
+                Body = Decompress(StreamData);
+                if (Statistics != null)
+                {
+                    Time = Statistics.AddCompressionNanos(Time);
+                }
+            }
+
+            // Documents with a string table are decoded by a copy of the reader which holds that table.
+            GHDFReaderVersion1 BodyReader = this;
+            if ((Flags & GHDF.FLAG_STRING_TABLE) != 0)
+            {
+                BodyReader = CreateDocumentReader(Statistics, ReadStringTable(Body));
+            }
+            Compound = projection == null ? BodyReader.ReadCompound(Body)
+                    : BodyReader.ReadProjectedCompound(Body, projection);
+            if (Statistics != null)
+            {
+                Statistics.AddCodingNanos(Time);
+            }
+            if (Body.remaining() > 0)
+            {
+                throw new GHDFReadException("Trailing data detected in GHDF data stream.");
+            }
         }
         catch (BufferUnderflowException e)
         {
@@ -95,178 +195,338 @@ class GHDFReaderVersion1 implements IGHDFReader
         return Compound;
     }
 
-
-    // Private methods.
-    private byte ReadByte(ByteBuffer data)
+    GHDFReaderVersion1 CreateDocumentReader(GHDFStatistics statistics, String[] stringTable)
     {
-        return data.get();
+        return new GHDFReaderVersion1(_options, statistics, stringTable);
     }
 
-    private short ReadShort(ByteBuffer data)
+    GHDFReadOptions GetOptions()
     {
-        return data.getShort();
+        return _options;
     }
 
-    private int ReadInt(ByteBuffer data)
+    ByteBuffer Decompress(ByteBuffer data) throws IOException
     {
-        return data.getInt();
+        return GHDFCompression.Decompress(data, _parallelPool, _parallelThreshold);
     }
 
-    private long ReadLong(ByteBuffer data)
+    boolean IsInstrumented(GHDFReadEvent event)
     {
-        return data.getLong();
+        return (_listener != null) || event.isEnabled();
     }
 
-    private float ReadFloat(ByteBuffer data)
+    GHDFStatistics GetStatistics()
     {
-        return data.getFloat();
+        return _statistics;
     }
 
-    private double ReadDouble(ByteBuffer data)
+    GHDFCompound ReadInstrumented(ByteBuffer data, GHDFAsyncIO.IOFunction<GHDFReaderVersion1, GHDFCompound> decoder,
+            GHDFReadEvent event) throws IOException
     {
-        return data.getDouble();
+        // Statistics live in a per-document copy so the reader itself stays stateless and thread-safe.
+        GHDFStatistics Statistics = new GHDFStatistics();
+        Statistics.AddBytes(data.remaining());
+        event.begin();
+        GHDFCompound Compound = decoder.Apply(CreateDocumentReader(Statistics, null));
+        CompleteInstrumentedRead(_listener, Statistics, event);
+        return Compound;
     }
 
-    private boolean ReadBoolean(ByteBuffer data) throws IOException
+    String[] ReadStringTable(ByteBuffer data) throws IOException
     {
-        byte Value = data.get();
-        if (Value == 0)
-        {
-            return false;
-        }
-        else if (Value == 1)
+        // Every string takes at least one byte, which bounds the table before it is allocated.
+        int Length = GetArrayLength(data);
+        if (Length > data.remaining())
         {
-            return true;
+            throw new BufferUnderflowException();
         }
-        else
+
+        String[] Values = new String[Length];
+        for (int i = 0; i < Length; i++)
         {
-            throw new GHDFReadException("Found boolean with invalid value: %d".formatted(Value));
+            Values[i] = ReadString(data);
         }
+        return Values;
     }
 
-    private String ReadString(ByteBuffer data) throws IOException
+    GHDFCompound ReadCompound(ByteBuffer data) throws IOException
     {
-        long Length = Read7BitEncodedInt(data);
-        if (Length < 0)
+        GHDFCompound Compound = new GHDFCompound();
+        int EntryCount = Read7BitEncodedInt(data);
+
+        for (int i = 0; i < EntryCount; i++)
         {
-            throw new GHDFReadException("Reader does not support strings longer than (2^31 - 1) bytes.");
+            ReadEntry(data, Compound);
         }
 
-        byte[] StringBytes = new byte[(int)Length];
-        data.get(StringBytes);
-        return new String(StringBytes, StandardCharsets.UTF_8);
+        return Compound;
     }
 
-    private GHDFCompound ReadCompound(ByteBuffer data) throws IOException
+    GHDFCompound ReadProjectedCompound(ByteBuffer data, GHDFProjection projection) throws IOException
     {
         GHDFCompound Compound = new GHDFCompound();
         int EntryCount = Read7BitEncodedInt(data);
 
         for (int i = 0; i < EntryCount; i++)
         {
-            ReadEntry(data, Compound);
+            int ID = Read7BitEncodedInt(data);
+            VerifyID(ID);
+            GHDFType EntryType = ReadEntryType(data, ID);
+            GHDFProjection EntryProjection = projection.GetChild(ID);
+
+            try
+            {
+                if (EntryProjection == null)
+                {
+                    SkipEntryValue(data, EntryType);
+                }
+                else if (EntryProjection.IsComplete())
+                {
+                    ReadEntryValue(data, Compound, ID, EntryType);
+                }
+                else if (EntryType == GHDFType.Compound)
+                {
+                    Compound.SetEntry(ID, ReadProjectedCompound(data, EntryProjection));
+                }
+                else if (EntryType == GHDFType.CompoundArray)
+                {
+                    Compound.SetEntry(ID, ReadProjectedCompoundArray(data, EntryProjection));
+                }
+                else
+                {
+                    SkipEntryValue(data, EntryType);
+                }
+            }
+            catch (GHDFReadException e)
+            {
+                throw new GHDFReadException("Exception reading entry with ID %d. Inner message: { %s }"
+                        .formatted(ID, e.getMessage()));
+            }
         }
 
         return Compound;
     }
 
-    private byte[] ReadByteArray(ByteBuffer data) throws IOException
+    GHDFCompound[] ReadProjectedCompoundArray(ByteBuffer data, GHDFProjection projection) throws IOException
     {
-        int Length = GetArrayLength(data);
-        byte[] Values = new byte[Length];
-        data.get(Values);
+        GHDFCompound[] Values = new GHDFCompound[GetArrayLength(data)];
+        for (int i = 0; i < Values.length; i++)
+        {
+            Values[i] = ReadProjectedCompound(data, projection);
+        }
         return Values;
     }
 
-    private short[] ReadShortArray(ByteBuffer data) throws IOException
+    Object ReadStringArray(ByteBuffer data) throws IOException
     {
         int Length = GetArrayLength(data);
-        short[] Values = new short[Length];
+        String[] Values = new String[Length];
         for (int i = 0; i < Length; i++)
         {
-            Values[i] = ReadShort(data);
+            Values[i] = ReadString(data);
         }
         return Values;
     }
 
-    private int[] ReadIntArray(ByteBuffer data) throws IOException
+    Object ReadCompoundArray(ByteBuffer data) throws IOException
     {
+        if (_isColumnarArraysEnabled)
+        {
+            GHDFColumns Columns = ReadColumns(data);
+            if (Columns != null)
+            {
+                return Columns;
+            }
+        }
+
         int Length = GetArrayLength(data);
-        int[] Values = new int[Length];
+        GHDFCompound[] Values = new GHDFCompound[Length];
+        if ((_parallelPool != null) && (Length > 1) && (data.remaining() >= _parallelThreshold * 2L))
+        {
+            ReadCompoundArrayParallel(data, Values);
+            return Values;
+        }
+
         for (int i = 0; i < Length; i++)
         {
-            Values[i] = ReadInt(data);
+            Values[i] = ReadCompound(data);
         }
         return Values;
     }
 
-    private long[] ReadLongArray(ByteBuffer data) throws IOException
+    int ReadCompoundEnd(ByteBuffer data) throws IOException
     {
-        int Length = GetArrayLength(data);
-        long[] Values = new long[Length];
-        for (int i = 0; i < Length; i++)
+        return -1;
+    }
+
+    void ReadEntryValue(ByteBuffer data, GHDFCompound compound, int id, GHDFType type) throws IOException
+    {
+        if (_statistics != null)
         {
-            Values[i] = ReadLong(data);
+            _statistics.CountEntry(type);
+            if (!GHDFCompound.IsPrimitiveType(type))
+            {
+                int Start = data.position();
+                compound.SetEntry(id, ReadValue(data, type));
+                _statistics.RecordValueSize(type, data.position() - Start);
+                return;
+            }
+        }
+
+        switch (type)
+        {
+            case Int8, UInt8 -> compound.SetByte(id, data.get());
+            case Int16, UInt16 -> compound.SetShort(id, data.getShort());
+            case Int32, UInt32 -> compound.SetInt(id, data.getInt());
+            case Int64, UInt64 -> compound.SetLong(id, data.getLong());
+            case Float -> compound.SetFloat(id, data.getFloat());
+            case Double -> compound.SetDouble(id, data.getDouble());
+            case Boolean -> compound.SetBoolean(id, ReadBoolean(data));
+            default -> compound.SetEntry(id, ReadValue(data, type));
         }
-        return Values;
     }
 
-    private float[] ReadFloatArray(ByteBuffer data) throws IOException
+    Object ReadValue(ByteBuffer data, GHDFType type) throws IOException
     {
-        int Length = GetArrayLength(data);
-        float[] Values = new float[Length];
-        for (int i = 0; i < Length; i++)
+        if (_isArrayViewsEnabled && GHDFArrayView.IsViewableType(type))
         {
-            Values[i] = ReadFloat(data);
+            return ReadArrayView(data, type);
         }
-        return Values;
+
+        // A switch keeps dispatch on a dense table and lets each branch be inlined at the call site.
+        return switch (type)
+        {
+            case Int8, UInt8 -> data.get();
+            case Int16, UInt16 -> data.getShort();
+            case Int32, UInt32 -> data.getInt();
+            case Int64, UInt64 -> data.getLong();
+            case Float -> data.getFloat();
+            case Double -> data.getDouble();
+            case Boolean -> ReadBoolean(data);
+            case String -> ReadString(data);
+            case Compound -> ReadCompound(data);
+            case Int8Array, UInt8Array -> ReadByteArray(data);
+            case Int16Array, UInt16Array -> ReadShortArray(data);
+            case Int32Array, UInt32Array -> ReadIntArray(data);
+            case Int64Array, UInt64Array -> ReadLongArray(data);
+            case FloatArray -> ReadFloatArray(data);
+            case DoubleArray -> ReadDoubleArray(data);
+            case BooleanArray -> ReadBooleanArray(data);
+            case StringArray -> ReadStringArray(data);
+            case CompoundArray -> ReadCompoundArray(data);
+        };
     }
 
-    private double[] ReadDoubleArray(ByteBuffer data) throws IOException
+    boolean IsStringTableUsed()
     {
-        int Length = GetArrayLength(data);
-        double[] Values = new double[Length];
-        for (int i = 0; i < Length; i++)
+        return _stringTable != null;
+    }
+
+    void SkipEntryValue(ByteBuffer data, GHDFType type) throws IOException
+    {
+        SkipValue(data, type, IsStringTableUsed());
+    }
+
+    void SkipCompoundValue(ByteBuffer data) throws IOException
+    {
+        SkipCompound(data, IsStringTableUsed());
+    }
+
+
+    // Package-private static methods.
+    static void CompleteInstrumentedRead(IGHDFListener listener, GHDFStatistics statistics, GHDFReadEvent event)
+    {
+        event.end();
+        if (event.shouldCommit())
         {
-            Values[i] = ReadDouble(data);
+            event.Set(statistics);
+            event.commit();
+        }
+        if (listener != null)
+        {
+            listener.OnRead(statistics);
         }
-        return Values;
     }
 
-    private boolean[] ReadBooleanArray(ByteBuffer data) throws IOException
+    static boolean ReadBoolean(ByteBuffer data) throws IOException
     {
-        int Length = GetArrayLength(data);
-        boolean[] Values = new boolean[Length];
-        for (int i = 0; i < Length; i++)
+        byte Value = data.get();
+        if (Value == 0)
         {
-            Values[i] = ReadBoolean(data);
+            return false;
+        }
+        else if (Value == 1)
+        {
+            return true;
+        }
+        else
+        {
+            throw new GHDFReadException("Found boolean with invalid value: %d".formatted(Value));
         }
-        return Values;
     }
 
-    private Object ReadStringArray(ByteBuffer data) throws IOException
+    static boolean[] DecodeBooleans(byte[] rawValues) throws IOException
     {
-        int Length = GetArrayLength(data);
-        String[] Values = new String[Length];
-        for (int i = 0; i < Length; i++)
+        int InvalidBits = 0;
+        for (byte Value : rawValues)
         {
-            Values[i] = ReadString(data);
+            InvalidBits |= Value;
+        }
+        if ((InvalidBits & ~1) != 0)
+        {
+            for (byte Value : rawValues)
+            {
+                if ((Value & ~1) != 0)
+                {
+                    throw new GHDFReadException("Found boolean with invalid value: %d".formatted(Value));
+                }
+            }
+        }
+
+        boolean[] Values = new boolean[rawValues.length];
+        for (int i = 0; i < rawValues.length; i++)
+        {
+            Values[i] = rawValues[i] != 0;
         }
         return Values;
     }
 
-    private Object ReadCompoundArray(ByteBuffer data) throws IOException
+    static int ReadStringLength(ByteBuffer data) throws IOException
     {
-        int Length = GetArrayLength(data);
-        GHDFCompound[] Values = new GHDFCompound[Length];
-        for (int i = 0; i < Length; i++)
+        int Length = Read7BitEncodedInt(data);
+        if (Length < 0)
         {
-            Values[i] = ReadCompound(data);
+            throw new GHDFReadException("Reader does not support strings longer than (2^31 - 1) bytes.");
         }
-        return Values;
+        return Length;
     }
 
-    private int GetArrayLength(ByteBuffer data) throws IOException
+    static String DecodeString(ByteBuffer data, int offset, int length)
+    {
+        if (data.hasArray())
+        {
+            return DecodeString(data.array(), data.arrayOffset() + offset, length);
+        }
+
+        byte[] Bytes = new byte[length];
+        data.get(offset, Bytes);
+        return DecodeString(Bytes, 0, length);
+    }
+
+    static String DecodeString(byte[] bytes, int offset, int length)
+    {
+        // ASCII is a subset of Latin-1, which is copied into the string as-is instead of going through UTF-8 decoding.
+        for (int i = offset; i < offset + length; i++)
+        {
+            if (bytes[i] < 0)
+            {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        }
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    static int GetArrayLength(ByteBuffer data) throws IOException
     {
         int Length = Read7BitEncodedInt(data);
         if (Length < 0)
@@ -276,7 +536,35 @@ class GHDFReaderVersion1 implements IGHDFReader
         return Length;
     }
 
-    private void VerifyID(int id) throws IOException
+    static GHDFType GetDecodedType(GHDFType type)
+    {
+        return switch (type)
+        {
+            case UInt8 -> GHDFType.Int8;
+            case UInt16 -> GHDFType.Int16;
+            case UInt32 -> GHDFType.Int32;
+            case UInt64 -> GHDFType.Int64;
+            case UInt8Array -> GHDFType.Int8Array;
+            case UInt16Array -> GHDFType.Int16Array;
+            case UInt32Array -> GHDFType.Int32Array;
+            case UInt64Array -> GHDFType.Int64Array;
+            default -> type;
+        };
+    }
+
+    static int GetFixedSize(GHDFType type)
+    {
+        return switch (type.GetElementType())
+        {
+            case Int8, UInt8, Boolean -> 1;
+            case Int16, UInt16 -> 2;
+            case Int32, UInt32, Float -> 4;
+            case Int64, UInt64, Double -> 8;
+            default -> -1;
+        };
+    }
+
+    static void VerifyID(int id) throws IOException
     {
         if (id == 0)
         {
@@ -284,7 +572,7 @@ class GHDFReaderVersion1 implements IGHDFReader
         }
     }
 
-    private void VerifySignature(ByteBuffer data) throws IOException
+    static void VerifySignature(ByteBuffer data) throws IOException
     {
         byte[] ReadSignature = new byte[GHDF.SIGNATURE.length];
         data.get(ReadSignature);
@@ -294,17 +582,30 @@ class GHDFReaderVersion1 implements IGHDFReader
         }
     }
 
-    private void VerifyVersion(ByteBuffer data) throws IOException
+    static int VerifyVersion(ByteBuffer data) throws IOException
+    {
+        return VerifyVersion(data, VERSION);
+    }
+
+    static int VerifyVersion(ByteBuffer data, int version) throws IOException
     {
         int DataVersion = data.getInt();
-        if (DataVersion != VERSION)
+        if ((DataVersion & GHDF.VERSION_MASK) != version)
         {
             throw new GHDFReadException("Unsupported GHDF data version: %d, supported: %d)".formatted(
-                    DataVersion, VERSION));
+                    DataVersion & GHDF.VERSION_MASK, version));
         }
+
+        int Flags = DataVersion & ~GHDF.VERSION_MASK;
+        if ((Flags & ~GHDF.SUPPORTED_FLAGS) != 0)
+        {
+            throw new GHDFReadException("Unsupported GHDF feature flags: 0x%X".formatted(
+                    Flags & ~GHDF.SUPPORTED_FLAGS));
+        }
+        return Flags;
     }
 
-    private int Read7BitEncodedInt(ByteBuffer data) throws IOException
+    static int Read7BitEncodedInt(ByteBuffer data) throws IOException
     {
         int Value = 0;
         byte CurrentByte;
@@ -319,41 +620,395 @@ class GHDFReaderVersion1 implements IGHDFReader
         return Value;
     }
 
-    private void ReadEntry(ByteBuffer data, GHDFCompound compound) throws IOException
+    static GHDFType ReadEntryType(ByteBuffer data, int id) throws IOException
     {
-        int ID = Read7BitEncodedInt(data);
-        VerifyID(ID);
-
-        GHDFType EntryType;
         byte TypeByteValue = data.get();
         try
         {
-            EntryType = GHDFType.ByteToEnum(TypeByteValue);
+            return GHDFType.ByteToEnum(TypeByteValue);
         }
         catch (GHDFTypeException e)
         {
             throw new GHDFReadException("Invalid data type for entry with ID %d in GHDF data stream: %d"
-                    .formatted(ID, TypeByteValue & 0xFF));
+                    .formatted(id, TypeByteValue & 0xFF));
         }
+    }
 
-        Object Value;
-        try
+    static void SkipValue(ByteBuffer data, GHDFType type) throws IOException
+    {
+        SkipValue(data, type, false);
+    }
+
+    static void SkipValue(ByteBuffer data, GHDFType type, boolean isStringTableUsed) throws IOException
+    {
+        int FixedSize = GetFixedSize(type);
+        if (!type.IsArray())
         {
-            Value = _readMethods.get(EntryType).Read(data);
+            if (FixedSize > 0)
+            {
+                Skip(data, FixedSize);
+            }
+            else if (type == GHDFType.String)
+            {
+                SkipString(data, isStringTableUsed);
+            }
+            else
+            {
+                SkipCompound(data, isStringTableUsed);
+            }
+            return;
         }
-        catch (GHDFReadException e)
+
+        int Length = GetArrayLength(data);
+        if (FixedSize > 0)
         {
-            throw new GHDFReadException("Exception reading entry with ID %d. Inner message: { %s }"
-                    .formatted(ID, e.getMessage()));
+            Skip(data, (long)FixedSize * Length);
+        }
+        else if (type == GHDFType.StringArray)
+        {
+            for (int i = 0; i < Length; i++)
+            {
+                SkipString(data, isStringTableUsed);
+            }
         }
+        else
+        {
+            for (int i = 0; i < Length; i++)
+            {
+                SkipCompound(data, isStringTableUsed);
+            }
+        }
+    }
 
-        compound.SetEntry(ID, Value);
+    static void SkipCompound(ByteBuffer data) throws IOException
+    {
+        SkipCompound(data, false);
     }
 
+    static void SkipCompound(ByteBuffer data, boolean isStringTableUsed) throws IOException
+    {
+        int EntryCount = Read7BitEncodedInt(data);
+        for (int i = 0; i < EntryCount; i++)
+        {
+            int ID = Read7BitEncodedInt(data);
+            VerifyID(ID);
+            SkipValue(data, ReadEntryType(data, ID), isStringTableUsed);
+        }
+    }
 
-    // Types.
-    private interface TypeReadMethod
+    static void SkipString(ByteBuffer data, boolean isStringTableUsed) throws IOException
     {
-        Object Read(ByteBuffer data) throws IOException;
+        if (isStringTableUsed)
+        {
+            Read7BitEncodedInt(data);
+        }
+        else
+        {
+            Skip(data, ReadStringLength(data));
+        }
+    }
+
+    static void Skip(ByteBuffer data, long count)
+    {
+        if (count > data.remaining())
+        {
+            throw new BufferUnderflowException();
+        }
+        data.position(data.position() + (int)count);
+    }
+
+
+    // Private static methods.
+    private static boolean ContainsID(int[] ids, int count, int id)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            if (ids[i] == id)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    // Private methods.
+    private String ReadString(ByteBuffer data) throws IOException
+    {
+        if (_stringTable != null)
+        {
+            int Index = Read7BitEncodedInt(data);
+            if ((Index < 0) || (Index >= _stringTable.length))
+            {
+                throw new GHDFReadException("String table index %d is out of range, the table has %d strings"
+                        .formatted(Index & 0xFFFFFFFFL, _stringTable.length));
+            }
+            return _stringTable[Index];
+        }
+
+        int Length = ReadStringLength(data);
+        int Offset = data.position();
+        Skip(data, Length);
+        return _stringCache != null ? _stringCache.Get(data, Offset, Length) : DecodeString(data, Offset, Length);
+    }
+
+    private byte[] ReadByteArray(ByteBuffer data) throws IOException
+    {
+        int Length = GetArrayLength(data);
+        byte[] Values = new byte[Length];
+        data.get(Values);
+        return Values;
+    }
+
+    private short[] ReadShortArray(ByteBuffer data) throws IOException
+    {
+        int Length = GetArrayLength(data);
+        short[] Values = new short[Length];
+        data.asShortBuffer().get(Values);
+        data.position(data.position() + (Length * Short.BYTES));
+        return Values;
+    }
+
+    private GHDFArrayView ReadArrayView(ByteBuffer data, GHDFType type) throws IOException
+    {
+        long ByteLength = (long)GetArrayLength(data) * GetFixedSize(type);
+        if (ByteLength > data.remaining())
+        {
+            throw new BufferUnderflowException();
+        }
+
+        ByteBuffer Values = data.slice(data.position(), (int)ByteLength);
+        data.position(data.position() + (int)ByteLength);
+        return new GHDFArrayView(Values, GetDecodedType(type));
+    }
+
+    private int[] ReadIntArray(ByteBuffer data) throws IOException
+    {
+        int Length = GetArrayLength(data);
+        int[] Values = new int[Length];
+        data.asIntBuffer().get(Values);
+        data.position(data.position() + (Length * Integer.BYTES));
+        return Values;
+    }
+
+    private long[] ReadLongArray(ByteBuffer data) throws IOException
+    {
+        int Length = GetArrayLength(data);
+        long[] Values = new long[Length];
+        data.asLongBuffer().get(Values);
+        data.position(data.position() + (Length * Long.BYTES));
+        return Values;
+    }
+
+    private float[] ReadFloatArray(ByteBuffer data) throws IOException
+    {
+        int Length = GetArrayLength(data);
+        float[] Values = new float[Length];
+        data.asFloatBuffer().get(Values);
+        data.position(data.position() + (Length * Float.BYTES));
+        return Values;
+    }
+
+    private double[] ReadDoubleArray(ByteBuffer data) throws IOException
+    {
+        int Length = GetArrayLength(data);
+        double[] Values = new double[Length];
+        data.asDoubleBuffer().get(Values);
+        data.position(data.position() + (Length * Double.BYTES));
+        return Values;
+    }
+
+    private boolean[] ReadBooleanArray(ByteBuffer data) throws IOException
+    {
+        byte[] RawValues = new byte[GetArrayLength(data)];
+        data.get(RawValues);
+        return DecodeBooleans(RawValues);
+    }
+
+    private GHDFColumns ReadColumns(ByteBuffer data) throws IOException
+    {
+        // Rows are decoded straight into columns for as long as they have the same IDs and types in the same
+        // order as the first row. Anything else is decoded again as compounds from the start of the array.
+        int Start = data.position();
+        int Length = GetArrayLength(data);
+        if ((Length == 0) || (Length > data.remaining()))
+        {
+            data.position(Start);
+            return null;
+        }
+
+        int[] IDs = null;
+        GHDFType[] Types = null;
+        Object[] Columns = null;
+        for (int Row = 0; Row < Length; Row++)
+        {
+            int End = ReadCompoundEnd(data);
+            int EntryCount = Read7BitEncodedInt(data);
+            if (Row == 0)
+            {
+                if ((EntryCount < 0) || (EntryCount > data.remaining()))
+                {
+                    data.position(Start);
+                    return null;
+                }
+                IDs = new int[EntryCount];
+                Types = new GHDFType[EntryCount];
+                Columns = new Object[EntryCount];
+            }
+            else if (EntryCount != IDs.length)
+            {
+                data.position(Start);
+                return null;
+            }
+
+            for (int i = 0; i < EntryCount; i++)
+            {
+                int ID = Read7BitEncodedInt(data);
+                VerifyID(ID);
+                GHDFType Type = ReadEntryType(data, ID);
+                if (Row == 0)
+                {
+                    if (!GHDFColumns.IsColumnType(Type) || ContainsID(IDs, i, ID))
+                    {
+                        data.position(Start);
+                        return null;
+                    }
+                    IDs[i] = ID;
+                    Types[i] = Type;
+                    Columns[i] = GHDFColumns.CreateColumn(Type, Length);
+                }
+                else if ((ID != IDs[i]) || (Type != Types[i]))
+                {
+                    data.position(Start);
+                    return null;
+                }
+                ReadColumnValue(data, Type, Columns[i], Row);
+            }
+
+            if ((End >= 0) && (data.position() != End))
+            {
+                throw new GHDFReadException("Value length does not match its contents, expected end at %d, got %d"
+                        .formatted(End, data.position()));
+            }
+        }
+
+        for (int i = 0; i < Types.length; i++)
+        {
+            Types[i] = GetDecodedType(Types[i]);
+        }
+        return new GHDFColumns(Length, IDs, Types, Columns);
+    }
+
+    private void ReadColumnValue(ByteBuffer data, GHDFType type, Object column, int row) throws IOException
+    {
+        switch (type)
+        {
+            case Int8, UInt8 -> ((byte[])column)[row] = data.get();
+            case Int16, UInt16 -> ((short[])column)[row] = data.getShort();
+            case Int32, UInt32 -> ((int[])column)[row] = data.getInt();
+            case Int64, UInt64 -> ((long[])column)[row] = data.getLong();
+            case Float -> ((float[])column)[row] = data.getFloat();
+            case Double -> ((double[])column)[row] = data.getDouble();
+            case Boolean -> ((boolean[])column)[row] = ReadBoolean(data);
+            default -> ((String[])column)[row] = ReadString(data);
+        }
+    }
+
+    private void ReadCompoundArrayParallel(ByteBuffer data, GHDFCompound[] values) throws IOException
+    {
+        // Element boundaries are found with a skip pass, then runs of at least the threshold size are decoded
+        // concurrently from their own views of the data.
+        int[] RunStartIndices = new int[16];
+        int[] RunStartPositions = new int[16];
+        int RunCount = 0;
+        int RunStart = 0;
+        int RunPosition = data.position();
+        for (int i = 0; i < values.length; i++)
+        {
+            SkipCompoundValue(data);
+            if ((data.position() - RunPosition < _parallelThreshold) && (i != values.length - 1))
+            {
+                continue;
+            }
+
+            if (RunCount + 1 >= RunStartIndices.length)
+            {
+                RunStartIndices = Arrays.copyOf(RunStartIndices, RunStartIndices.length * 2);
+                RunStartPositions = Arrays.copyOf(RunStartPositions, RunStartPositions.length * 2);
+            }
+            RunStartIndices[RunCount] = RunStart;
+            RunStartPositions[RunCount] = RunPosition;
+            RunCount++;
+            RunStart = i + 1;
+            RunPosition = data.position();
+        }
+        RunStartIndices[RunCount] = values.length;
+        RunStartPositions[RunCount] = data.position();
+
+        List<Callable<Void>> Tasks = new ArrayList<>(RunCount);
+        for (int i = 0; i < RunCount; i++)
+        {
+            int StartIndex = RunStartIndices[i];
+            int EndIndex = RunStartIndices[i + 1];
+            int StartPosition = RunStartPositions[i];
+            int EndPosition = RunStartPositions[i + 1];
+            Tasks.add(() ->
+            {
+                ByteBuffer RunData = data.duplicate().order(GHDF.ENDIANNESS).position(StartPosition);
+                for (int j = StartIndex; j < EndIndex; j++)
+                {
+                    values[j] = ReadCompound(RunData);
+                }
+                if (RunData.position() != EndPosition)
+                {
+                    throw new GHDFReadException("Compound array element boundaries do not match their contents.");
+                }
+                return null;
+            });
+        }
+
+        for (Future<Void> Result : _parallelPool.invokeAll(Tasks))
+        {
+            try
+            {
+                Result.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new GHDFReadException("Interrupted while decoding compound array.");
+            }
+            catch (ExecutionException e)
+            {
+                if (e.getCause() instanceof IOException CauseException)
+                {
+                    throw CauseException;
+                }
+                if (e.getCause() instanceof RuntimeException CauseException)
+                {
+                    throw CauseException;
+                }
+                throw new GHDFReadException("Failed to decode compound array. Inner message: %s"
+                        .formatted(e.getCause().getMessage()));
+            }
+        }
+    }
+
+    private void ReadEntry(ByteBuffer data, GHDFCompound compound) throws IOException
+    {
+        int ID = Read7BitEncodedInt(data);
+        VerifyID(ID);
+
+        GHDFType EntryType = ReadEntryType(data, ID);
+
+        try
+        {
+            ReadEntryValue(data, compound, ID, EntryType);
+        }
+        catch (GHDFReadException e)
+        {
+            throw new GHDFReadException("Exception reading entry with ID %d. Inner message: { %s }"
+                    .formatted(ID, e.getMessage()));
+        }
     }
 }
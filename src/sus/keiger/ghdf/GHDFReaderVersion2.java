@@ -0,0 +1,150 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+class GHDFReaderVersion2 extends GHDFReaderVersion1
+{
+    // Static fields.
+    static final int VERSION = 2;
+    static final GHDFReaderVersion2 SHARED_INSTANCE = new GHDFReaderVersion2();
+
+
+    // Constructors.
+    public GHDFReaderVersion2()
+    {
+        this(new GHDFReadOptions());
+    }
+
+    public GHDFReaderVersion2(GHDFReadOptions options)
+    {
+        super(options);
+    }
+
+    GHDFReaderVersion2(GHDFReadOptions options, GHDFStatistics statistics, String[] stringTable)
+    {
+        super(options, statistics, stringTable);
+    }
+
+
+    // Static methods.
+    static boolean HasLengthPrefix(GHDFType type)
+    {
+        return (type == GHDFType.Compound) || (type == GHDFType.StringArray) || (type == GHDFType.CompoundArray);
+    }
+
+    static int ReadByteLength(ByteBuffer data) throws IOException
+    {
+        int Length = data.getInt();
+        if (Length < 0)
+        {
+            throw new GHDFReadException("Found negative value length: %d".formatted(Length));
+        }
+        if (Length > data.remaining())
+        {
+            throw new BufferUnderflowException();
+        }
+        return Length;
+    }
+
+    static void SkipValue(ByteBuffer data, GHDFType type, boolean isStringTableUsed) throws IOException
+    {
+        if (HasLengthPrefix(type))
+        {
+            Skip(data, ReadByteLength(data));
+        }
+        else
+        {
+            GHDFReaderVersion1.SkipValue(data, type, isStringTableUsed);
+        }
+    }
+
+
+    // Methods.
+    @Override
+    int GetVersion()
+    {
+        return VERSION;
+    }
+
+    @Override
+    GHDFReaderVersion1 CreateDocumentReader(GHDFStatistics statistics, String[] stringTable)
+    {
+        return new GHDFReaderVersion2(GetOptions(), statistics, stringTable);
+    }
+
+    @Override
+    GHDFCompound ReadCompound(ByteBuffer data) throws IOException
+    {
+        int End = ReadByteLength(data) + data.position();
+        GHDFCompound Compound = super.ReadCompound(data);
+        VerifyEnd(data, End);
+        return Compound;
+    }
+
+    @Override
+    GHDFCompound ReadProjectedCompound(ByteBuffer data, GHDFProjection projection) throws IOException
+    {
+        int End = ReadByteLength(data) + data.position();
+        GHDFCompound Compound = super.ReadProjectedCompound(data, projection);
+        VerifyEnd(data, End);
+        return Compound;
+    }
+
+    @Override
+    GHDFCompound[] ReadProjectedCompoundArray(ByteBuffer data, GHDFProjection projection) throws IOException
+    {
+        int End = ReadByteLength(data) + data.position();
+        GHDFCompound[] Values = super.ReadProjectedCompoundArray(data, projection);
+        VerifyEnd(data, End);
+        return Values;
+    }
+
+    @Override
+    int ReadCompoundEnd(ByteBuffer data) throws IOException
+    {
+        return ReadByteLength(data) + data.position();
+    }
+
+    @Override
+    Object ReadStringArray(ByteBuffer data) throws IOException
+    {
+        int End = ReadByteLength(data) + data.position();
+        Object Values = super.ReadStringArray(data);
+        VerifyEnd(data, End);
+        return Values;
+    }
+
+    @Override
+    Object ReadCompoundArray(ByteBuffer data) throws IOException
+    {
+        int End = ReadByteLength(data) + data.position();
+        Object Values = super.ReadCompoundArray(data);
+        VerifyEnd(data, End);
+        return Values;
+    }
+
+    @Override
+    void SkipEntryValue(ByteBuffer data, GHDFType type) throws IOException
+    {
+        SkipValue(data, type, IsStringTableUsed());
+    }
+
+    @Override
+    void SkipCompoundValue(ByteBuffer data) throws IOException
+    {
+        Skip(data, ReadByteLength(data));
+    }
+
+
+    // Private static methods.
+    private static void VerifyEnd(ByteBuffer data, int end) throws IOException
+    {
+        if (data.position() != end)
+        {
+            throw new GHDFReadException("Value length does not match its contents, expected end at %d, got %d"
+                    .formatted(end, data.position()));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+final class GHDFSharedWriter implements IGHDFWriter
+{
+    // Private static fields.
+    private static final int MAX_IDLE_WRITERS = Runtime.getRuntime().availableProcessors();
+
+
+    // Private fields.
+    private final Supplier<IGHDFWriter> _writerFactory;
+    private final BlockingQueue<IGHDFWriter> _idleWriters = new ArrayBlockingQueue<>(MAX_IDLE_WRITERS);
+
+
+    // Constructors.
+    GHDFSharedWriter(Supplier<IGHDFWriter> writerFactory)
+    {
+        // Writers reuse their output buffer between documents, so each call borrows a writer of its own. Only a
+        // bounded number are kept, any extra writers needed by concurrent calls are dropped once they are returned.
+        _writerFactory = writerFactory;
+    }
+
+
+    // Inherited methods.
+    @Override
+    public void Write(GHDFCompound compound, String filePath) throws IOException
+    {
+        IGHDFWriter Writer = AcquireWriter();
+        try
+        {
+            Writer.Write(compound, filePath);
+        }
+        finally
+        {
+            _idleWriters.offer(Writer);
+        }
+    }
+
+    @Override
+    public void Write(GHDFCompound compound, OutputStream stream) throws IOException
+    {
+        IGHDFWriter Writer = AcquireWriter();
+        try
+        {
+            Writer.Write(compound, stream);
+        }
+        finally
+        {
+            _idleWriters.offer(Writer);
+        }
+    }
+
+    @Override
+    public void Write(GHDFCompound compound, WritableByteChannel channel) throws IOException
+    {
+        IGHDFWriter Writer = AcquireWriter();
+        try
+        {
+            Writer.Write(compound, channel);
+        }
+        finally
+        {
+            _idleWriters.offer(Writer);
+        }
+    }
+
+    @Override
+    public byte[] Write(GHDFCompound compound) throws IOException
+    {
+        IGHDFWriter Writer = AcquireWriter();
+        try
+        {
+            return Writer.Write(compound);
+        }
+        finally
+        {
+            _idleWriters.offer(Writer);
+        }
+    }
+
+    @Override
+    public long GetEncodedSize(GHDFCompound compound)
+    {
+        IGHDFWriter Writer = AcquireWriter();
+        try
+        {
+            return Writer.GetEncodedSize(compound);
+        }
+        finally
+        {
+            _idleWriters.offer(Writer);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> WriteAsync(GHDFCompound compound, String filePath)
+    {
+        // Encoding happens before the future is returned, so the writer is free again at that point.
+        IGHDFWriter Writer = AcquireWriter();
+        try
+        {
+            return Writer.WriteAsync(compound, filePath);
+        }
+        finally
+        {
+            _idleWriters.offer(Writer);
+        }
+    }
+
+
+    // Private methods.
+    private IGHDFWriter AcquireWriter()
+    {
+        IGHDFWriter Writer = _idleWriters.poll();
+        return Writer != null ? Writer : _writerFactory.get();
+    }
+}
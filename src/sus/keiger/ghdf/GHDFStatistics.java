@@ -0,0 +1,139 @@
+package sus.keiger.ghdf;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class GHDFStatistics
+{
+    // Private static fields.
+    private static final GHDFType[] TYPES = GHDFType.values();
+
+
+    // Private fields.
+    private final AtomicLongArray _entryCounts = new AtomicLongArray(TYPES.length);
+    private final AtomicLong _largestArraySize = new AtomicLong();
+    private final AtomicLong _largestStringSize = new AtomicLong();
+    private long _byteCount = 0L;
+    private long _headerNanos = 0L;
+    private long _compressionNanos = 0L;
+    private long _codingNanos = 0L;
+    private long _flushNanos = 0L;
+
+
+    // Constructors.
+    GHDFStatistics() { }
+
+
+    // Methods.
+    public long GetByteCount()
+    {
+        return _byteCount;
+    }
+
+    public long GetEntryCount(GHDFType type)
+    {
+        if (type == null)
+        {
+            throw new IllegalArgumentException("type is null");
+        }
+        return _entryCounts.get(type.ordinal());
+    }
+
+    public long GetEntryCount()
+    {
+        long Count = 0L;
+        for (int i = 0; i < TYPES.length; i++)
+        {
+            Count += _entryCounts.get(i);
+        }
+        return Count;
+    }
+
+    public long GetHeaderNanos()
+    {
+        return _headerNanos;
+    }
+
+    public long GetCompressionNanos()
+    {
+        return _compressionNanos;
+    }
+
+    public long GetCodingNanos()
+    {
+        return _codingNanos;
+    }
+
+    public long GetFlushNanos()
+    {
+        return _flushNanos;
+    }
+
+    public long GetLargestArraySize()
+    {
+        return _largestArraySize.get();
+    }
+
+    public long GetLargestStringSize()
+    {
+        return _largestStringSize.get();
+    }
+
+
+    // Package-private methods.
+    void AddBytes(long count)
+    {
+        _byteCount += count;
+    }
+
+    void CountEntry(GHDFType type)
+    {
+        _entryCounts.incrementAndGet(type.ordinal());
+    }
+
+    void RecordValueSize(GHDFType type, long size)
+    {
+        if (type == GHDFType.String)
+        {
+            _largestStringSize.accumulateAndGet(size, Math::max);
+        }
+        else if (type.IsArray() && (type != GHDFType.CompoundArray))
+        {
+            _largestArraySize.accumulateAndGet(size, Math::max);
+        }
+    }
+
+    long AddHeaderNanos(long startNanos)
+    {
+        long Now = System.nanoTime();
+        _headerNanos += Now - startNanos;
+        return Now;
+    }
+
+    long AddCompressionNanos(long startNanos)
+    {
+        long Now = System.nanoTime();
+        _compressionNanos += Now - startNanos;
+        return Now;
+    }
+
+    long AddCodingNanos(long startNanos)
+    {
+        long Now = System.nanoTime();
+        _codingNanos += Now - startNanos;
+        return Now;
+    }
+
+    long AddFlushNanos(long startNanos)
+    {
+        long Now = System.nanoTime();
+        _flushNanos += Now - startNanos;
+        return Now;
+    }
+
+    void EndEncoding(long startNanos)
+    {
+        // Flushing and compression happen while encoding, only the remaining time is spent on encoding itself.
+        _codingNanos += System.nanoTime() - startNanos - _flushNanos - _compressionNanos;
+    }
+}
@@ -0,0 +1,772 @@
+package sus.keiger.ghdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+class GHDFStreamReaderVersion1 implements IGHDFStreamReader
+{
+    // Private static fields.
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_7BIT_ENCODED_INT_SIZE = 5;
+
+
+    // Private fields.
+    private final InputStream _stream;
+    private final ReadableByteChannel _channel;
+    private final ByteBuffer _buffer = ByteBuffer.allocate(BUFFER_SIZE).order(GHDF.ENDIANNESS).flip();
+    private GHDFBlockInputStream _decompressedStream = null;
+    private final IGHDFListener _listener;
+    private final GHDFReadEvent _event = new GHDFReadEvent();
+    private GHDFStatistics _statistics = null;
+    private long _time = 0L;
+    private long _sourceByteCount = 0L;
+    private long _bufferedByteCount = 0L;
+    private long _valueStart = 0L;
+
+    private GHDFToken _token = null;
+    private int _depth = 0;
+    private int[] _frameRemaining = new int[16];
+    private GHDFType[] _frameElementTypes = new GHDFType[16];
+
+    private int _entryID = 0;
+    private GHDFType _entryType = null;
+    private GHDFType _pendingType = null;
+    private GHDFType _valueType = null;
+    private int _length = 0;
+    private long _primitiveValue = 0L;
+    private String _stringValue = null;
+
+
+    // Constructors.
+    public GHDFStreamReaderVersion1(InputStream stream)
+    {
+        this(stream, new GHDFReadOptions());
+    }
+
+    public GHDFStreamReaderVersion1(InputStream stream, GHDFReadOptions options)
+    {
+        if (stream == null)
+        {
+            throw new IllegalArgumentException("stream is null");
+        }
+        if (options == null)
+        {
+            throw new IllegalArgumentException("options is null");
+        }
+        _stream = stream;
+        _channel = null;
+        _listener = options.GetListener();
+    }
+
+    public GHDFStreamReaderVersion1(ReadableByteChannel channel)
+    {
+        this(channel, new GHDFReadOptions());
+    }
+
+    public GHDFStreamReaderVersion1(ReadableByteChannel channel, GHDFReadOptions options)
+    {
+        if (channel == null)
+        {
+            throw new IllegalArgumentException("channel is null");
+        }
+        if (options == null)
+        {
+            throw new IllegalArgumentException("options is null");
+        }
+        _stream = null;
+        _channel = channel;
+        _listener = options.GetListener();
+    }
+
+
+    // Inherited methods.
+    @Override
+    public GHDFToken Next() throws IOException
+    {
+        if (_token == null)
+        {
+            if ((_listener != null) || _event.isEnabled())
+            {
+                _statistics = new GHDFStatistics();
+                _time = System.nanoTime();
+                _event.begin();
+            }
+            Require(GHDF.SIGNATURE.length + Integer.BYTES);
+            GHDFReaderVersion1.VerifySignature(_buffer);
+            int Flags = GHDFReaderVersion1.VerifyVersion(_buffer);
+            if ((Flags & GHDF.FLAG_STRING_TABLE) != 0)
+            {
+                throw new GHDFReadException("GHDF data with a string table cannot be read as a stream.");
+            }
+            if (_statistics != null)
+            {
+                _time = _statistics.AddHeaderNanos(_time);
+            }
+            if ((Flags & GHDF.FLAG_COMPRESSED) != 0)
+            {
+                BeginDecompression();
+            }
+            return BeginValue(GHDFType.Compound);
+        }
+        if (_token == GHDFToken.EndOfData)
+        {
+            return _token;
+        }
+        if (_pendingType != null)
+        {
+            GHDFType Type = _pendingType;
+            _pendingType = null;
+            _valueStart = GetPosition();
+            BeginValue(Type);
+            if ((_statistics != null) && (Type == GHDFType.String))
+            {
+                _statistics.RecordValueSize(Type, GetPosition() - _valueStart);
+            }
+            return _token;
+        }
+        if (_depth == 0)
+        {
+            if (Fill(1))
+            {
+                throw new GHDFReadException("Trailing data detected in GHDF data stream.");
+            }
+            if (_statistics != null)
+            {
+                EndStatistics();
+            }
+            return SetToken(GHDFToken.EndOfData);
+        }
+
+        int FrameIndex = _depth - 1;
+        GHDFType ElementType = _frameElementTypes[FrameIndex];
+        if (_frameRemaining[FrameIndex] == 0)
+        {
+            _depth--;
+            if (ElementType == null)
+            {
+                return SetToken(GHDFToken.CompoundEnd);
+            }
+
+            // Arrays cannot contain arrays, so every array other than a compound array is an entry's value.
+            if ((_statistics != null) && (ElementType != GHDFType.Compound))
+            {
+                _statistics.RecordValueSize(_entryType, GetPosition() - _valueStart);
+            }
+            return SetToken(GHDFToken.ArrayEnd);
+        }
+        _frameRemaining[FrameIndex]--;
+
+        if (ElementType != null)
+        {
+            return BeginValue(ElementType);
+        }
+
+        _entryID = Read7BitEncodedInt();
+        GHDFReaderVersion1.VerifyID(_entryID);
+        Require(1);
+        byte TypeByteValue = _buffer.get();
+        try
+        {
+            _entryType = GHDFType.ByteToEnum(TypeByteValue);
+        }
+        catch (GHDFTypeException e)
+        {
+            throw new GHDFReadException("Invalid data type for entry with ID %d in GHDF data stream: %d"
+                    .formatted(_entryID, TypeByteValue & 0xFF));
+        }
+        _pendingType = _entryType;
+        if (_statistics != null)
+        {
+            _statistics.CountEntry(_entryType);
+        }
+        return SetToken(GHDFToken.Entry);
+    }
+
+    @Override
+    public GHDFToken GetCurrentToken()
+    {
+        return _token;
+    }
+
+    @Override
+    public int GetDepth()
+    {
+        return _depth;
+    }
+
+    @Override
+    public int GetEntryID()
+    {
+        return _entryID;
+    }
+
+    @Override
+    public GHDFType GetEntryType()
+    {
+        return _entryType;
+    }
+
+    @Override
+    public GHDFType GetValueType()
+    {
+        return _valueType;
+    }
+
+    @Override
+    public int GetLength()
+    {
+        return _length;
+    }
+
+    @Override
+    public byte GetByte()
+    {
+        VerifyValueType(GHDFType.Int8, GHDFType.UInt8);
+        return (byte)_primitiveValue;
+    }
+
+    @Override
+    public short GetShort()
+    {
+        VerifyValueType(GHDFType.Int16, GHDFType.UInt16);
+        return (short)_primitiveValue;
+    }
+
+    @Override
+    public int GetInt()
+    {
+        VerifyValueType(GHDFType.Int32, GHDFType.UInt32);
+        return (int)_primitiveValue;
+    }
+
+    @Override
+    public long GetLong()
+    {
+        VerifyValueType(GHDFType.Int64, GHDFType.UInt64);
+        return _primitiveValue;
+    }
+
+    @Override
+    public float GetFloat()
+    {
+        VerifyValueType(GHDFType.Float, GHDFType.Float);
+        return Float.intBitsToFloat((int)_primitiveValue);
+    }
+
+    @Override
+    public double GetDouble()
+    {
+        VerifyValueType(GHDFType.Double, GHDFType.Double);
+        return Double.longBitsToDouble(_primitiveValue);
+    }
+
+    @Override
+    public boolean GetBoolean()
+    {
+        VerifyValueType(GHDFType.Boolean, GHDFType.Boolean);
+        return _primitiveValue != 0L;
+    }
+
+    @Override
+    public String GetString()
+    {
+        VerifyValueType(GHDFType.String, GHDFType.String);
+        return _stringValue;
+    }
+
+    @Override
+    public Object ReadValue() throws IOException
+    {
+        if (_token == GHDFToken.Entry)
+        {
+            Next();
+        }
+
+        if (_token == GHDFToken.Value)
+        {
+            return GetBoxedValue();
+        }
+        if (_token == GHDFToken.CompoundStart)
+        {
+            GHDFCompound Compound = new GHDFCompound();
+            while (Next() == GHDFToken.Entry)
+            {
+                int ID = _entryID;
+                if (Next() == GHDFToken.Value && GHDFCompound.IsPrimitiveType(_valueType))
+                {
+                    Compound.SetPrimitive(ID, GHDFReaderVersion1.GetDecodedType(_valueType), _primitiveValue);
+                }
+                else
+                {
+                    Compound.SetEntry(ID, ReadValue());
+                }
+            }
+            return Compound;
+        }
+        if (_token == GHDFToken.ArrayStart)
+        {
+            Object Array = ReadArray(_valueType.GetElementType(), _frameRemaining[_depth - 1]);
+            Next();
+            return Array;
+        }
+        throw new IllegalStateException("Cannot read a value at token %s".formatted(String.valueOf(_token)));
+    }
+
+    @Override
+    public void SkipValue() throws IOException
+    {
+        if (_token == GHDFToken.Entry)
+        {
+            Next();
+        }
+
+        if (_token == GHDFToken.Value)
+        {
+            return;
+        }
+        if (_token == GHDFToken.CompoundStart)
+        {
+            while (Next() == GHDFToken.Entry)
+            {
+                SkipValue();
+            }
+            return;
+        }
+        if (_token == GHDFToken.ArrayStart)
+        {
+            int FrameIndex = _depth - 1;
+            GHDFType ElementType = _frameElementTypes[FrameIndex];
+            int FixedSize = GHDFReaderVersion1.GetFixedSize(ElementType);
+
+            if (FixedSize > 0)
+            {
+                Skip((long)FixedSize * _frameRemaining[FrameIndex]);
+                _frameRemaining[FrameIndex] = 0;
+            }
+            else if (ElementType == GHDFType.String)
+            {
+                for (; _frameRemaining[FrameIndex] > 0; _frameRemaining[FrameIndex]--)
+                {
+                    Skip(ReadStringLength());
+                }
+            }
+            else
+            {
+                while (Next() != GHDFToken.ArrayEnd)
+                {
+                    SkipValue();
+                }
+                return;
+            }
+            Next();
+            return;
+        }
+        throw new IllegalStateException("Cannot skip a value at token %s".formatted(String.valueOf(_token)));
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (_stream != null)
+        {
+            _stream.close();
+        }
+        else
+        {
+            _channel.close();
+        }
+    }
+
+
+    // Private methods.
+    private void BeginDecompression() throws IOException
+    {
+        Require(1);
+        IGHDFCompressionCodec Codec = GHDFCompression.GetCodec(_buffer.get());
+
+        // Bytes which were already buffered past the header belong to the first compressed block.
+        byte[] BufferedData = new byte[_buffer.remaining()];
+        _buffer.get(BufferedData);
+        _sourceByteCount -= BufferedData.length;
+        InputStream Source = new SequenceInputStream(new ByteArrayInputStream(BufferedData),
+                _stream != null ? _stream : Channels.newInputStream(_channel));
+        _decompressedStream = new GHDFBlockInputStream(Source, Codec);
+    }
+
+    private void EndStatistics()
+    {
+        // The decode time also covers whatever the caller did between tokens, as the reader cannot tell them apart.
+        _statistics.AddBytes(_sourceByteCount + (_decompressedStream != null
+                ? _decompressedStream.GetSourceByteCount() : 0L));
+        _statistics.AddCodingNanos(_time + _statistics.GetCompressionNanos());
+        GHDFReaderVersion1.CompleteInstrumentedRead(_listener, _statistics, _event);
+    }
+
+    private long GetPosition()
+    {
+        return _bufferedByteCount - _buffer.remaining();
+    }
+
+    private GHDFToken SetToken(GHDFToken token)
+    {
+        _token = token;
+        return token;
+    }
+
+    private GHDFToken BeginValue(GHDFType type) throws IOException
+    {
+        _valueType = type;
+        if (type == GHDFType.Compound)
+        {
+            _length = Read7BitEncodedInt();
+            PushFrame(_length, null);
+            return SetToken(GHDFToken.CompoundStart);
+        }
+        if (type.IsArray())
+        {
+            _length = ReadArrayLength();
+            PushFrame(_length, type.GetElementType());
+            return SetToken(GHDFToken.ArrayStart);
+        }
+
+        ReadScalar(type);
+        return SetToken(GHDFToken.Value);
+    }
+
+    private void PushFrame(int remaining, GHDFType elementType)
+    {
+        if (_depth == _frameRemaining.length)
+        {
+            _frameRemaining = Arrays.copyOf(_frameRemaining, _depth * 2);
+            _frameElementTypes = Arrays.copyOf(_frameElementTypes, _depth * 2);
+        }
+        _frameRemaining[_depth] = remaining;
+        _frameElementTypes[_depth] = elementType;
+        _depth++;
+    }
+
+    private void ReadScalar(GHDFType type) throws IOException
+    {
+        switch (type)
+        {
+            case Int8, UInt8 ->
+            {
+                Require(Byte.BYTES);
+                _primitiveValue = _buffer.get();
+            }
+            case Int16, UInt16 ->
+            {
+                Require(Short.BYTES);
+                _primitiveValue = _buffer.getShort();
+            }
+            case Int32, UInt32 ->
+            {
+                Require(Integer.BYTES);
+                _primitiveValue = _buffer.getInt();
+            }
+            case Int64, UInt64 ->
+            {
+                Require(Long.BYTES);
+                _primitiveValue = _buffer.getLong();
+            }
+            case Float ->
+            {
+                Require(Float.BYTES);
+                _primitiveValue = _buffer.getInt();
+            }
+            case Double ->
+            {
+                Require(Double.BYTES);
+                _primitiveValue = _buffer.getLong();
+            }
+            case Boolean ->
+            {
+                Require(1);
+                _primitiveValue = GHDFReaderVersion1.ReadBoolean(_buffer) ? 1L : 0L;
+            }
+            case String -> _stringValue = ReadString();
+            default -> throw new GHDFReadException("Invalid scalar type %s".formatted(type.toString()));
+        }
+    }
+
+    private Object GetBoxedValue()
+    {
+        return switch (_valueType)
+        {
+            case Int8, UInt8 -> (byte)_primitiveValue;
+            case Int16, UInt16 -> (short)_primitiveValue;
+            case Int32, UInt32 -> (int)_primitiveValue;
+            case Int64, UInt64 -> _primitiveValue;
+            case Float -> Float.intBitsToFloat((int)_primitiveValue);
+            case Double -> Double.longBitsToDouble(_primitiveValue);
+            case Boolean -> _primitiveValue != 0L;
+            default -> _stringValue;
+        };
+    }
+
+    private Object ReadArray(GHDFType elementType, int length) throws IOException
+    {
+        int FrameIndex = _depth - 1;
+        _frameRemaining[FrameIndex] = 0;
+
+        switch (elementType)
+        {
+            case Int8, UInt8 ->
+            {
+                byte[] Values = new byte[length];
+                ReadFully(Values);
+                return Values;
+            }
+            case Int16, UInt16 ->
+            {
+                short[] Values = new short[length];
+                for (int Offset = 0; Offset < length;)
+                {
+                    int Count = RequireElements(Short.BYTES, length - Offset);
+                    _buffer.asShortBuffer().get(Values, Offset, Count);
+                    _buffer.position(_buffer.position() + (Count * Short.BYTES));
+                    Offset += Count;
+                }
+                return Values;
+            }
+            case Int32, UInt32 ->
+            {
+                int[] Values = new int[length];
+                for (int Offset = 0; Offset < length;)
+                {
+                    int Count = RequireElements(Integer.BYTES, length - Offset);
+                    _buffer.asIntBuffer().get(Values, Offset, Count);
+                    _buffer.position(_buffer.position() + (Count * Integer.BYTES));
+                    Offset += Count;
+                }
+                return Values;
+            }
+            case Int64, UInt64 ->
+            {
+                long[] Values = new long[length];
+                for (int Offset = 0; Offset < length;)
+                {
+                    int Count = RequireElements(Long.BYTES, length - Offset);
+                    _buffer.asLongBuffer().get(Values, Offset, Count);
+                    _buffer.position(_buffer.position() + (Count * Long.BYTES));
+                    Offset += Count;
+                }
+                return Values;
+            }
+            case Float ->
+            {
+                float[] Values = new float[length];
+                for (int Offset = 0; Offset < length;)
+                {
+                    int Count = RequireElements(Float.BYTES, length - Offset);
+                    _buffer.asFloatBuffer().get(Values, Offset, Count);
+                    _buffer.position(_buffer.position() + (Count * Float.BYTES));
+                    Offset += Count;
+                }
+                return Values;
+            }
+            case Double ->
+            {
+                double[] Values = new double[length];
+                for (int Offset = 0; Offset < length;)
+                {
+                    int Count = RequireElements(Double.BYTES, length - Offset);
+                    _buffer.asDoubleBuffer().get(Values, Offset, Count);
+                    _buffer.position(_buffer.position() + (Count * Double.BYTES));
+                    Offset += Count;
+                }
+                return Values;
+            }
+            case Boolean ->
+            {
+                byte[] RawValues = new byte[length];
+                ReadFully(RawValues);
+                return GHDFReaderVersion1.DecodeBooleans(RawValues);
+            }
+            case String ->
+            {
+                String[] Values = new String[length];
+                for (int i = 0; i < length; i++)
+                {
+                    Values[i] = ReadString();
+                }
+                return Values;
+            }
+            default ->
+            {
+                _frameRemaining[FrameIndex] = length;
+                GHDFCompound[] Values = new GHDFCompound[length];
+                for (int i = 0; i < length; i++)
+                {
+                    Next();
+                    Values[i] = (GHDFCompound)ReadValue();
+                }
+                return Values;
+            }
+        }
+    }
+
+    private int RequireElements(int elementSize, int remaining) throws IOException
+    {
+        // Arrays are copied in runs of however many whole elements the buffer currently holds.
+        Require(elementSize);
+        return Math.min(remaining, _buffer.remaining() / elementSize);
+    }
+
+    private String ReadString() throws IOException
+    {
+        int Length = ReadStringLength();
+        if (Length <= _buffer.capacity())
+        {
+            Require(Length);
+            String Value = GHDFReaderVersion1.DecodeString(_buffer.array(), _buffer.arrayOffset() + _buffer.position(),
+                    Length);
+            _buffer.position(_buffer.position() + Length);
+            return Value;
+        }
+
+        byte[] StringBytes = new byte[Length];
+        ReadFully(StringBytes);
+        return GHDFReaderVersion1.DecodeString(StringBytes, 0, Length);
+    }
+
+    private int ReadStringLength() throws IOException
+    {
+        int Length = Read7BitEncodedInt();
+        if (Length < 0)
+        {
+            throw new GHDFReadException("Reader does not support strings longer than (2^31 - 1) bytes.");
+        }
+        return Length;
+    }
+
+    private int ReadArrayLength() throws IOException
+    {
+        Fill(MAX_7BIT_ENCODED_INT_SIZE);
+        try
+        {
+            return GHDFReaderVersion1.GetArrayLength(_buffer);
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw CreateIncompleteException();
+        }
+    }
+
+    private int Read7BitEncodedInt() throws IOException
+    {
+        Fill(MAX_7BIT_ENCODED_INT_SIZE);
+        try
+        {
+            return GHDFReaderVersion1.Read7BitEncodedInt(_buffer);
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw CreateIncompleteException();
+        }
+    }
+
+    private void ReadFully(byte[] destination) throws IOException
+    {
+        int Offset = 0;
+        while (Offset < destination.length)
+        {
+            Require(1);
+            int Count = Math.min(destination.length - Offset, _buffer.remaining());
+            _buffer.get(destination, Offset, Count);
+            Offset += Count;
+        }
+    }
+
+    private void Skip(long count) throws IOException
+    {
+        long Remaining = count;
+        while (Remaining > 0)
+        {
+            Require(1);
+            int Count = (int)Math.min(Remaining, _buffer.remaining());
+            _buffer.position(_buffer.position() + Count);
+            Remaining -= Count;
+        }
+    }
+
+    private void Require(int count) throws IOException
+    {
+        if (!Fill(count))
+        {
+            throw CreateIncompleteException();
+        }
+    }
+
+    private boolean Fill(int count) throws IOException
+    {
+        if (_buffer.remaining() >= count)
+        {
+            return true;
+        }
+
+        _buffer.compact();
+        try
+        {
+            while (_buffer.position() < count)
+            {
+                int ReadCount;
+                if (_decompressedStream != null)
+                {
+                    long Time = _statistics != null ? System.nanoTime() : 0L;
+                    ReadCount = ReadInto(_decompressedStream);
+                    if (_statistics != null)
+                    {
+                        _statistics.AddCompressionNanos(Time);
+                    }
+                }
+                else
+                {
+                    ReadCount = _stream != null ? ReadInto(_stream) : _channel.read(_buffer);
+                    _sourceByteCount += Math.max(ReadCount, 0);
+                }
+
+                if (ReadCount < 0)
+                {
+                    break;
+                }
+                _bufferedByteCount += ReadCount;
+            }
+        }
+        finally
+        {
+            _buffer.flip();
+        }
+        return _buffer.remaining() >= count;
+    }
+
+    private int ReadInto(InputStream input) throws IOException
+    {
+        int ReadCount = input.read(_buffer.array(), _buffer.arrayOffset() + _buffer.position(), _buffer.remaining());
+        if (ReadCount > 0)
+        {
+            _buffer.position(_buffer.position() + ReadCount);
+        }
+        return ReadCount;
+    }
+
+    private GHDFReadException CreateIncompleteException()
+    {
+        return new GHDFReadException("Failed to read GHDF data because it was incomplete.");
+    }
+
+    private void VerifyValueType(GHDFType type, GHDFType alternativeType)
+    {
+        if ((_token != GHDFToken.Value) || ((_valueType != type) && (_valueType != alternativeType)))
+        {
+            throw new GHDFEntryException("Current value is not of type %s".formatted(type.toString()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package sus.keiger.ghdf;
+
+import java.nio.ByteBuffer;
+
+public final class GHDFStringCache
+{
+    // Static fields.
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int MAX_CAPACITY = 1 << 20;
+
+
+    // Private static fields.
+    private static final int MAX_CACHED_LENGTH = 64;
+
+
+    // Private fields.
+    private final CacheEntry[] _entries;
+
+
+    // Constructors.
+    public GHDFStringCache()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GHDFStringCache(int capacity)
+    {
+        if ((capacity <= 0) || (capacity > MAX_CAPACITY))
+        {
+            throw new IllegalArgumentException("Capacity must be between 1 and %d, got %d".formatted(
+                    MAX_CAPACITY, capacity));
+        }
+        // Rounded up to a power of two so slots can be picked with a mask.
+        int Capacity = Integer.highestOneBit(capacity);
+        _entries = new CacheEntry[Capacity < capacity ? Capacity << 1 : Capacity];
+    }
+
+
+    // Methods.
+    public int GetCapacity()
+    {
+        return _entries.length;
+    }
+
+    public void Clear()
+    {
+        for (int i = 0; i < _entries.length; i++)
+        {
+            _entries[i] = null;
+        }
+    }
+
+
+    // Package-private methods.
+    String Get(ByteBuffer data, int offset, int length)
+    {
+        if (length > MAX_CACHED_LENGTH)
+        {
+            return GHDFReaderVersion1.DecodeString(data, offset, length);
+        }
+
+        int Hash = 1;
+        for (int i = offset; i < offset + length; i++)
+        {
+            Hash = (31 * Hash) + data.get(i);
+        }
+        Hash ^= Hash >>> 16;
+
+        // Entries are immutable and replaced as a whole, so racing readers see either the old or the new entry.
+        int Index = Hash & (_entries.length - 1);
+        CacheEntry Entry = _entries[Index];
+        if ((Entry != null) && Entry.Matches(Hash, data, offset, length))
+        {
+            return Entry.GetValue();
+        }
+
+        byte[] Bytes = new byte[length];
+        data.get(offset, Bytes);
+        String Value = GHDFReaderVersion1.DecodeString(Bytes, 0, length);
+        _entries[Index] = new CacheEntry(Hash, Bytes, Value);
+        return Value;
+    }
+
+
+    // Types.
+    private static final class CacheEntry
+    {
+        // Private fields.
+        private final int _hash;
+        private final byte[] _bytes;
+        private final String _value;
+
+
+        // Constructors.
+        CacheEntry(int hash, byte[] bytes, String value)
+        {
+            _hash = hash;
+            _bytes = bytes;
+            _value = value;
+        }
+
+
+        // Methods.
+        String GetValue()
+        {
+            return _value;
+        }
+
+        boolean Matches(int hash, ByteBuffer data, int offset, int length)
+        {
+            if ((_hash != hash) || (_bytes.length != length))
+            {
+                return false;
+            }
+            for (int i = 0; i < length; i++)
+            {
+                if (_bytes[i] != data.get(offset + i))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
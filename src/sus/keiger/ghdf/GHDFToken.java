@@ -0,0 +1,12 @@
+package sus.keiger.ghdf;
+
+public enum GHDFToken
+{
+    CompoundStart,
+    CompoundEnd,
+    Entry,
+    Value,
+    ArrayStart,
+    ArrayEnd,
+    EndOfData
+}
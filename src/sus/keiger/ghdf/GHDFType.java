@@ -34,6 +34,18 @@ public enum GHDFType
     public static final byte ARRAY_BIT = (byte)0b1000_0000;
 
 
+    // Private static fields.
+    private static final GHDFType[] BYTE_TO_TYPE = new GHDFType[256];
+
+    static
+    {
+        for (GHDFType Type : values())
+        {
+            BYTE_TO_TYPE[Type._byteData & 0xFF] = Type;
+        }
+    }
+
+
     // Private fields.
     private final byte _byteData;
 
@@ -48,45 +60,12 @@ public enum GHDFType
     // Static methods.
     public static GHDFType ByteToEnum(byte value)
     {
-        if ((value & ARRAY_BIT) != 0)
+        GHDFType Type = BYTE_TO_TYPE[value & 0xFF];
+        if (Type == null)
         {
-            byte ModifiedValue = (byte)(value & (~ARRAY_BIT));
-            return switch (ModifiedValue)
-            {
-                case 1 -> UInt8Array;
-                case 2 -> Int8Array;
-                case 3 -> UInt16Array;
-                case 4 -> Int16Array;
-                case 5 -> UInt32Array;
-                case 6 -> Int32Array;
-                case 7 -> UInt64Array;
-                case 8 -> Int64Array;
-                case 9 -> FloatArray;
-                case 10 -> DoubleArray;
-                case 11 -> BooleanArray;
-                case 12 -> StringArray;
-                case 13 -> CompoundArray;
-                default -> throw new GHDFTypeException("Invalid type byte value: %d".formatted(value));
-            };
+            throw new GHDFTypeException("Invalid type byte value: %d".formatted(value));
         }
-
-        return switch (value)
-        {
-            case 1 -> UInt8;
-            case 2 -> Int8;
-            case 3 -> UInt16;
-            case 4 -> Int16;
-            case 5 -> UInt32;
-            case 6 -> Int32;
-            case 7 -> UInt64;
-            case 8 -> Int64;
-            case 9 -> Float;
-            case 10 -> Double;
-            case 11 -> Boolean;
-            case 12 -> String;
-            case 13 -> Compound;
-            default -> throw new GHDFTypeException("Invalid type byte value: %d".formatted(value));
-        };
+        return Type;
     }
 
 
@@ -105,4 +84,9 @@ public enum GHDFType
     {
         return _byteData;
     }
+
+    public GHDFType GetElementType()
+    {
+        return IsArray() ? ByteToEnum(GetOnlyType()) : this;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package sus.keiger.ghdf;
+
+import jdk.jfr.*;
+
+@Name("sus.keiger.ghdf.Write")
+@Label("GHDF Write")
+@Category("GHDF")
+@StackTrace(false)
+class GHDFWriteEvent extends Event
+{
+    // Fields.
+    @Label("Bytes Written")
+    @DataAmount
+    long bytes;
+
+    @Label("Entries Encoded")
+    long entries;
+
+    @Label("Header Duration")
+    @Timespan
+    long headerDuration;
+
+    @Label("Compression Duration")
+    @Timespan
+    long compressionDuration;
+
+    @Label("Encode Duration")
+    @Timespan
+    long encodeDuration;
+
+    @Label("Flush Duration")
+    @Timespan
+    long flushDuration;
+
+    @Label("Largest Array")
+    @DataAmount
+    long largestArray;
+
+    @Label("Largest String")
+    @DataAmount
+    long largestString;
+
+
+    // Methods.
+    void Set(GHDFStatistics statistics)
+    {
+        bytes = statistics.GetByteCount();
+        entries = statistics.GetEntryCount();
+        headerDuration = statistics.GetHeaderNanos();
+        compressionDuration = statistics.GetCompressionNanos();
+        encodeDuration = statistics.GetCodingNanos();
+        flushDuration = statistics.GetFlushNanos();
+        largestArray = statistics.GetLargestArraySize();
+        largestString = statistics.GetLargestStringSize();
+    }
+}
@@ -0,0 +1,107 @@
+package sus.keiger.ghdf;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class GHDFWriteOptions
+{
+    // Private static fields.
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+
+    // Private fields.
+    private IGHDFCompressionCodec _compression = null;
+    private int _blockSize = GHDFCompression.DEFAULT_BLOCK_SIZE;
+    private boolean _isParallelEncodingEnabled = false;
+    private int _parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private ForkJoinPool _parallelPool = null;
+    private IGHDFListener _listener = null;
+    private boolean _isStringTableEnabled = false;
+
+
+    // Methods.
+    public GHDFWriteOptions SetCompression(IGHDFCompressionCodec codec)
+    {
+        _compression = codec;
+        return this;
+    }
+
+    public IGHDFCompressionCodec GetCompression()
+    {
+        return _compression;
+    }
+
+    public GHDFWriteOptions SetBlockSize(int value)
+    {
+        if ((value < GHDFCompression.MIN_BLOCK_SIZE) || (value > GHDFCompression.MAX_BLOCK_SIZE))
+        {
+            throw new IllegalArgumentException("Block size must be between %d and %d bytes, got %d".formatted(
+                    GHDFCompression.MIN_BLOCK_SIZE, GHDFCompression.MAX_BLOCK_SIZE, value));
+        }
+        _blockSize = value;
+        return this;
+    }
+
+    public int GetBlockSize()
+    {
+        return _blockSize;
+    }
+
+    public GHDFWriteOptions SetParallelEncodingEnabled(boolean value)
+    {
+        _isParallelEncodingEnabled = value;
+        return this;
+    }
+
+    public boolean IsParallelEncodingEnabled()
+    {
+        return _isParallelEncodingEnabled;
+    }
+
+    public GHDFWriteOptions SetParallelThreshold(int value)
+    {
+        if (value <= 0)
+        {
+            throw new IllegalArgumentException("Parallel threshold must be positive, got %d".formatted(value));
+        }
+        _parallelThreshold = value;
+        return this;
+    }
+
+    public int GetParallelThreshold()
+    {
+        return _parallelThreshold;
+    }
+
+    public GHDFWriteOptions SetParallelPool(ForkJoinPool pool)
+    {
+        _parallelPool = pool;
+        return this;
+    }
+
+    public ForkJoinPool GetParallelPool()
+    {
+        return _parallelPool != null ? _parallelPool : ForkJoinPool.commonPool();
+    }
+
+    public GHDFWriteOptions SetListener(IGHDFListener listener)
+    {
+        _listener = listener;
+        return this;
+    }
+
+    public IGHDFListener GetListener()
+    {
+        return _listener;
+    }
+
+    public GHDFWriteOptions SetStringTableEnabled(boolean value)
+    {
+        _isStringTableEnabled = value;
+        return this;
+    }
+
+    public boolean IsStringTableEnabled()
+    {
+        return _isStringTableEnabled;
+    }
+}
@@ -1,65 +1,60 @@
 package sus.keiger.ghdf;
 
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 class GHDFWriterVersion1 implements IGHDFWriter
 {
+    // Static fields.
+    static final IGHDFWriter SHARED_INSTANCE = new GHDFSharedWriter(GHDFWriterVersion1::new);
+
+
     // Private fields.
     private final int VERSION = 1;
-    private final Map<GHDFType, TypeWriteMethod> _typeBasedWriteMethods = new HashMap<>();
+    private final int BUFFER_SIZE = 65536;
+    private final GHDFOutputBuffer _buffer = new GHDFOutputBuffer(BUFFER_SIZE);
+    private final IGHDFCompressionCodec _compression;
+    private final int _blockSize;
+    private final ForkJoinPool _parallelPool;
+    private final int _parallelThreshold;
+    private final IGHDFListener _listener;
+    private final boolean _isStringTableEnabled;
+    private GHDFStatistics _statistics = null;
+    private Map<String, Integer> _stringTable = null;
 
 
     // Constructors.
     GHDFWriterVersion1()
     {
-        _typeBasedWriteMethods.put(GHDFType.Int8, (stream, value) -> WriteByte(stream, (byte)value));
-        _typeBasedWriteMethods.put(GHDFType.UInt8, (stream, value) -> WriteByte(stream, (byte)value));
-        _typeBasedWriteMethods.put(GHDFType.Int16, (stream, value) -> WriteShort(stream, (short)value));
-        _typeBasedWriteMethods.put(GHDFType.UInt16, (stream, value) -> WriteShort(stream, (short)value));
-        _typeBasedWriteMethods.put(GHDFType.Int32, (stream, value) -> WriteInt(stream, (int)value));
-        _typeBasedWriteMethods.put(GHDFType.UInt32, (stream, value) -> WriteInt(stream, (int)value));
-        _typeBasedWriteMethods.put(GHDFType.Int64, (stream, value) -> WriteLong(stream, (long)value));
-        _typeBasedWriteMethods.put(GHDFType.UInt64, (stream, value) -> WriteLong(stream, (long)value));
-        _typeBasedWriteMethods.put(GHDFType.Float, (stream, value) -> WriteFloat(stream, (float)value));
-        _typeBasedWriteMethods.put(GHDFType.Double, (stream, value) -> WriteDouble(stream, (double)value));
-        _typeBasedWriteMethods.put(GHDFType.Boolean, (stream, value) -> WriteBoolean(stream, (boolean)value));
-        _typeBasedWriteMethods.put(GHDFType.String, (stream, value) -> WriteString(stream, (String)value));
-        _typeBasedWriteMethods.put(GHDFType.Compound, (stream, value) -> WriteCompound(stream, (GHDFCompound)value));
-
-        _typeBasedWriteMethods.put(GHDFType.Int8Array,
-                (stream, value) -> WriteByteArray(stream, (byte[])value));
-        _typeBasedWriteMethods.put(GHDFType.UInt8Array,
-                (stream, value) -> WriteByteArray(stream, (byte[])value));
-        _typeBasedWriteMethods.put(GHDFType.Int16Array,
-                (stream, value) -> WriteShortArray(stream, (short[])value));
-        _typeBasedWriteMethods.put(GHDFType.UInt16Array,
-                (stream, value) -> WriteShortArray(stream, (short[])value));
-        _typeBasedWriteMethods.put(GHDFType.Int32Array,
-                (stream, value) -> WriteIntArray(stream, (int[])value));
-        _typeBasedWriteMethods.put(GHDFType.UInt32Array,
-                (stream, value) -> WriteIntArray(stream, (int[])value));
-        _typeBasedWriteMethods.put(GHDFType.Int64Array,
-                (stream, value) -> WriteLongArray(stream, (long[])value));
-        _typeBasedWriteMethods.put(GHDFType.UInt64Array
-                , (stream, value) -> WriteLongArray(stream, (long[])value));
-        _typeBasedWriteMethods.put(GHDFType.FloatArray,
-                (stream, value) -> WriteFloatArray(stream, (float[])value));
-        _typeBasedWriteMethods.put(GHDFType.DoubleArray,
-                (stream, value) -> WriteDoubleArray(stream, (double[])value));
-        _typeBasedWriteMethods.put(GHDFType.BooleanArray,
-                (stream, value) -> WriteBooleanArray(stream, (boolean[])value));
-        _typeBasedWriteMethods.put(GHDFType.StringArray,
-                (stream, value) -> WriteStringArray(stream, (String[])value));
-        _typeBasedWriteMethods.put(GHDFType.CompoundArray,
-                (stream, value) -> WriteCompoundArray(stream, (GHDFCompound[])value));
+        this(new GHDFWriteOptions());
+    }
+
+    GHDFWriterVersion1(GHDFWriteOptions options)
+    {
+        if (options == null)
+        {
+            throw new IllegalArgumentException("options is null");
+        }
+        _compression = options.GetCompression();
+        _blockSize = options.GetBlockSize();
+        _parallelPool = options.IsParallelEncodingEnabled() && (options.GetParallelPool().getParallelism() > 1)
+                ? options.GetParallelPool() : null;
+        _parallelThreshold = options.GetParallelThreshold();
+        _listener = options.GetListener();
+        _isStringTableEnabled = options.IsStringTableEnabled();
     }
 
 
@@ -72,15 +67,22 @@ class GHDFWriterVersion1 implements IGHDFWriter
             throw new IllegalArgumentException("filePath is null");
         }
 
-        FileOutputStream FileStream = new FileOutputStream(ChangeExtensionToGHDF(filePath));
+        // The compound may still be backed by a mapping of this very file, so the file is only replaced once the
+        // new contents are complete.
+        Path FilePath = Path.of(ChangeExtensionToGHDF(filePath));
+        Path TempPath = FilePath.resolveSibling(FilePath.getFileName() + GHDF.TEMP_EXTENSION);
         try
         {
-            Write(compound, FileStream);
-            FileStream.close();
+            try (FileChannel Channel = FileChannel.open(TempPath, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))
+            {
+                Write(compound, Channel);
+            }
+            Files.move(TempPath, FilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         }
-        catch (IOException e)
+        catch (IOException | RuntimeException e)
         {
-            FileStream.close();
+            Files.deleteIfExists(TempPath);
             throw e;
         }
     }
@@ -97,17 +99,235 @@ class GHDFWriterVersion1 implements IGHDFWriter
             throw new IllegalArgumentException("stream is null");
         }
 
-        WriteMetadata(stream);
-        ByteArrayOutputStream ByteStream = new ByteArrayOutputStream(4096);
+        _buffer.Reset();
+        _buffer.SetSink(stream);
+        WriteDocument(compound, stream);
+    }
+
+    @Override
+    public void Write(GHDFCompound compound, WritableByteChannel channel) throws IOException
+    {
+        if (compound == null)
+        {
+            throw new IllegalArgumentException("compound is null");
+        }
+        if (channel == null)
+        {
+            throw new IllegalArgumentException("channel is null");
+        }
+
+        if (_compression != null)
+        {
+            Write(compound, Channels.newOutputStream(channel));
+            return;
+        }
+
+        _buffer.Reset();
+        _buffer.SetSink(channel);
+        WriteDocument(compound, null);
+    }
+
+    @Override
+    public byte[] Write(GHDFCompound compound) throws IOException
+    {
+        if (compound == null)
+        {
+            throw new IllegalArgumentException("compound is null");
+        }
+
+        if (_compression != null)
+        {
+            ByteArrayOutputStream Stream = new ByteArrayOutputStream();
+            Write(compound, Stream);
+            return Stream.toByteArray();
+        }
+
+        return WriteInstrumented(() ->
+        {
+            try
+            {
+                _stringTable = _isStringTableEnabled ? CreateStringTable(compound) : null;
+                long Size = GetDocumentSize(compound);
+                if (Size > Integer.MAX_VALUE - 8)
+                {
+                    throw new GHDFWriteException("Cannot write %d bytes of GHDF data into a single array."
+                            .formatted(Size));
+                }
+
+                GHDFOutputBuffer Buffer = new GHDFOutputBuffer((int)Size);
+                long Time = _statistics != null ? System.nanoTime() : 0L;
+                WriteMetadata(Buffer);
+                if (_statistics != null)
+                {
+                    Time = _statistics.AddHeaderNanos(Time);
+                }
+
+                WriteBody(Buffer, compound);
+                if (_statistics != null)
+                {
+                    _statistics.EndEncoding(Time);
+                    _statistics.AddBytes(Buffer.GetSize());
+                }
+                return Buffer.ToArray();
+            }
+            finally
+            {
+                _stringTable = null;
+            }
+        });
+    }
+
+    @Override
+    public long GetEncodedSize(GHDFCompound compound)
+    {
+        if (compound == null)
+        {
+            throw new IllegalArgumentException("compound is null");
+        }
+        if (!_isStringTableEnabled)
+        {
+            return GetDocumentSize(compound);
+        }
+
+        try
+        {
+            _stringTable = CreateStringTable(compound);
+            return GetDocumentSize(compound);
+        }
+        finally
+        {
+            _stringTable = null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> WriteAsync(GHDFCompound compound, String filePath)
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+
+        // Encoding happens on the calling thread so later changes to the compound cannot leak into the file.
+        byte[] Data;
+        try
+        {
+            Data = Write(compound);
+        }
+        catch (IOException e)
+        {
+            return CompletableFuture.failedFuture(e);
+        }
+        return GHDFAsyncIO.WriteFile(Path.of(ChangeExtensionToGHDF(filePath)), Data);
+    }
+
+
+    // Methods.
+    int GetVersion()
+    {
+        return VERSION;
+    }
+
+    int GetLengthPrefixSize()
+    {
+        return 0;
+    }
+
 
-        _typeBasedWriteMethods.get(GHDFType.Compound).Write(ByteStream, compound);
-        ByteStream.writeTo(stream);
+    // Private static methods.
+    private static ForkJoinTask<byte[]>[] CreateTasks(int count)
+    {
+        @SuppressWarnings("unchecked")
+        ForkJoinTask<byte[]>[] Tasks = (ForkJoinTask<byte[]>[])new ForkJoinTask<?>[count];
+        return Tasks;
     }
 
+
     // Private methods.
-    private ByteBuffer GetByteBuffer(int size)
+    private void WriteDocument(GHDFCompound compound, OutputStream stream) throws IOException
+    {
+        WriteInstrumented(() ->
+        {
+            EncodeDocument(compound, stream);
+            return null;
+        });
+    }
+
+    private void EncodeDocument(GHDFCompound compound, OutputStream stream) throws IOException
+    {
+        try
+        {
+            _stringTable = _isStringTableEnabled ? CreateStringTable(compound) : null;
+            long Time = _statistics != null ? System.nanoTime() : 0L;
+            _buffer.SetStatistics(_statistics);
+            WriteMetadata(_buffer);
+            if (_statistics != null)
+            {
+                Time = _statistics.AddHeaderNanos(Time);
+            }
+
+            if (_compression == null)
+            {
+                WriteBody(_buffer, compound);
+                _buffer.Flush();
+            }
+            else
+            {
+                // Compressed bytes are measured by the block stream, the buffer only feeds it raw data.
+                _buffer.Flush();
+                _buffer.SetStatistics(null);
+                GHDFBlockOutputStream BlockStream = new GHDFBlockOutputStream(stream, _compression, _blockSize,
+                        _statistics);
+                _buffer.SetSink(BlockStream);
+                WriteBody(_buffer, compound);
+                _buffer.Flush();
+                BlockStream.Finish();
+            }
+
+            if (_statistics != null)
+            {
+                _statistics.EndEncoding(Time);
+            }
+        }
+        finally
+        {
+            _stringTable = null;
+            _buffer.Reset();
+        }
+    }
+
+    private <T> T WriteInstrumented(DocumentWriteMethod<T> method) throws IOException
     {
-        return ByteBuffer.allocate(size).order(GHDF.ENDIANNESS);
+        GHDFWriteEvent Event = new GHDFWriteEvent();
+        if ((_listener == null) && !Event.isEnabled())
+        {
+            return method.Write();
+        }
+
+        GHDFStatistics Statistics = new GHDFStatistics();
+        T Result;
+        _statistics = Statistics;
+        Event.begin();
+        try
+        {
+            Result = method.Write();
+        }
+        finally
+        {
+            _statistics = null;
+        }
+        Event.end();
+
+        if (Event.shouldCommit())
+        {
+            Event.Set(Statistics);
+            Event.commit();
+        }
+        if (_listener != null)
+        {
+            _listener.OnWrite(Statistics);
+        }
+        return Result;
     }
 
     private String ChangeExtensionToGHDF(String path)
@@ -133,193 +353,597 @@ class GHDFWriterVersion1 implements IGHDFWriter
         }
     }
 
-    private void WriteMetadata(OutputStream stream) throws IOException
+    private void WriteMetadata(GHDFOutputBuffer buffer) throws IOException
+    {
+        buffer.PutBytes(GHDF.SIGNATURE);
+        int Flags = _stringTable != null ? GHDF.FLAG_STRING_TABLE : 0;
+        if (_compression == null)
+        {
+            buffer.PutInt(GetVersion() | Flags);
+            return;
+        }
+        buffer.PutInt(GetVersion() | Flags | GHDF.FLAG_COMPRESSED);
+        buffer.PutByte(_compression.GetID());
+    }
+
+    private void WriteBody(GHDFOutputBuffer buffer, GHDFCompound compound) throws IOException
+    {
+        if (_stringTable != null)
+        {
+            buffer.Put7BitEncodedInt(_stringTable.size());
+            for (String Value : _stringTable.keySet())
+            {
+                buffer.PutString(Value);
+            }
+        }
+        WriteCompound(buffer, compound);
+    }
+
+    private void WriteString(GHDFOutputBuffer buffer, String value) throws IOException
+    {
+        if (_stringTable != null)
+        {
+            buffer.Put7BitEncodedInt(_stringTable.get(value));
+            return;
+        }
+        buffer.PutString(value);
+    }
+
+    private Map<String, Integer> CreateStringTable(GHDFCompound compound)
+    {
+        // Strings are numbered in order of first appearance, the table is written in the same order.
+        Map<String, Integer> Table = new LinkedHashMap<>();
+        AddToStringTable(Table, compound);
+        return Table;
+    }
+
+    private void AddToStringTable(Map<String, Integer> table, GHDFCompound compound)
+    {
+        for (int i = 0; i < compound.Size(); i++)
+        {
+            GHDFType Type = compound.GetTypeAt(i);
+            if (GHDFCompound.IsPrimitiveType(Type))
+            {
+                continue;
+            }
+
+            Object Value = compound.GetObjectAt(i);
+            if ((Type == GHDFType.String) && (Value instanceof String StringValue))
+            {
+                table.putIfAbsent(StringValue, table.size());
+            }
+            else if ((Type == GHDFType.StringArray) && (Value instanceof String[] Array))
+            {
+                for (String Element : Array)
+                {
+                    table.putIfAbsent(Element, table.size());
+                }
+            }
+            else if ((Type == GHDFType.Compound) && (Value instanceof GHDFCompound Child))
+            {
+                AddToStringTable(table, Child);
+            }
+            else if ((Type == GHDFType.CompoundArray) && (Value instanceof GHDFCompound[] Array))
+            {
+                for (GHDFCompound Element : Array)
+                {
+                    AddToStringTable(table, Element);
+                }
+            }
+            else if ((Type == GHDFType.CompoundArray) && (Value instanceof GHDFColumns Columns))
+            {
+                for (int Column = 0; Column < Columns.GetColumnCount(); Column++)
+                {
+                    if (Columns.GetTypeAt(Column) != GHDFType.String)
+                    {
+                        continue;
+                    }
+                    for (String Element : (String[])Columns.GetColumnAt(Column))
+                    {
+                        table.putIfAbsent(Element, table.size());
+                    }
+                }
+            }
+        }
+    }
+
+    private long GetDocumentSize(GHDFCompound compound)
     {
-        stream.write(GHDF.SIGNATURE);
-        stream.write(GetByteBuffer(4).putInt(VERSION).array());
+        long Size = GHDF.SIGNATURE.length + Integer.BYTES + GetLengthPrefixSize() + GetCompoundSize(compound);
+        if (_stringTable == null)
+        {
+            return Size;
+        }
+
+        Size += GHDFOutputBuffer.Get7BitEncodedIntSize(_stringTable.size());
+        for (String Value : _stringTable.keySet())
+        {
+            int Length = GHDFOutputBuffer.GetUTF8Length(Value);
+            Size += GHDFOutputBuffer.Get7BitEncodedIntSize(Length) + Length;
+        }
+        return Size;
     }
 
-    private void Write7BitEncodedInt(OutputStream stream, int value) throws IOException
+    void WriteCompound(GHDFOutputBuffer buffer, GHDFCompound value) throws IOException
     {
-        long CurrentValue = value & 0xffffffffL;
-        do
+        buffer.Put7BitEncodedInt(value.Size());
+        ForkJoinTask<byte[]>[] Tasks = _parallelPool != null ? ForkLargeEntries(value) : null;
+
+        int CurrentID = 0;
+        try
         {
-            stream.write((int)((CurrentValue & 0b0111_1111) | (CurrentValue > 0b0111_1111 ? 0b1000_0000 : 0)));
-            CurrentValue = CurrentValue >> 7;
-        } while (CurrentValue > 0);
+            for (int i = 0; i < value.Size(); i++)
+            {
+                CurrentID = value.GetIDAt(i);
+                VerifyID(CurrentID);
+                GHDFType Type = value.GetTypeAt(i);
+                if (_statistics != null)
+                {
+                    RecordEntry(value, i, Type);
+                }
+
+                if ((Tasks != null) && (Tasks[i] != null))
+                {
+                    buffer.PutBytes(JoinEncodedData(Tasks[i]));
+                }
+                else if (GHDFCompound.IsPrimitiveType(Type))
+                {
+                    WritePrimitiveEntry(buffer, CurrentID, Type, value.GetPrimitiveAt(i));
+                }
+                else
+                {
+                    WriteEntry(buffer, CurrentID, value.GetObjectAt(i), Type);
+                }
+            }
+        }
+        catch (GHDFWriteException e)
+        {
+            CancelTasks(Tasks);
+            throw new GHDFWriteException("Failed to write compound entry with ID %s. Nested fail: { %s }"
+                    .formatted(CurrentID != 0 ? Integer.toString(CurrentID) : "[Invalid ID of 0]", e.getMessage()));
+        }
     }
 
-    private void WriteByte(OutputStream stream, byte value) throws IOException
+    private void WriteByteArray(GHDFOutputBuffer buffer, byte[] array) throws IOException
     {
-        stream.write(value);
+        buffer.Put7BitEncodedInt(array.length);
+        buffer.PutBytes(array);
     }
 
-    private void WriteShort(OutputStream stream, short value) throws IOException
+    private void WriteShortArray(GHDFOutputBuffer buffer, short[] array) throws IOException
     {
-        stream.write(GetByteBuffer(2).putShort(value).array());
+        buffer.Put7BitEncodedInt(array.length);
+        buffer.PutShorts(array);
     }
 
-    private void WriteInt(OutputStream stream, int value) throws IOException
+    private void WriteIntArray(GHDFOutputBuffer buffer, int[] array) throws IOException
     {
-        stream.write(GetByteBuffer(4).putInt(value).array());
+        buffer.Put7BitEncodedInt(array.length);
+        buffer.PutInts(array);
     }
 
-    private void WriteLong(OutputStream stream, long value) throws IOException
+    private void WriteLongArray(GHDFOutputBuffer buffer, long[] array) throws IOException
     {
-        stream.write(GetByteBuffer(8).putLong(value).array());
+        buffer.Put7BitEncodedInt(array.length);
+        buffer.PutLongs(array);
     }
 
-    private void WriteFloat(OutputStream stream, float value) throws IOException
+    private void WriteFloatArray(GHDFOutputBuffer buffer, float[] array) throws IOException
     {
-        stream.write(GetByteBuffer(4).putFloat(value).array());
+        buffer.Put7BitEncodedInt(array.length);
+        buffer.PutFloats(array);
     }
 
-    private void WriteDouble(OutputStream stream, double value) throws IOException
+    private void WriteDoubleArray(GHDFOutputBuffer buffer, double[] array) throws IOException
     {
-        stream.write(GetByteBuffer(8).putDouble(value).array());
+        buffer.Put7BitEncodedInt(array.length);
+        buffer.PutDoubles(array);
     }
 
-    private void WriteBoolean(OutputStream stream, boolean value) throws IOException
+    private void WriteBooleanArray(GHDFOutputBuffer buffer, boolean[] array) throws IOException
     {
-        stream.write(value ? 1 : 0);
+        buffer.Put7BitEncodedInt(array.length);
+        buffer.PutBooleans(array);
     }
 
-    private void WriteString(OutputStream stream, String value) throws IOException
+    private void WriteArrayView(GHDFOutputBuffer buffer, GHDFArrayView view) throws IOException
     {
-        Write7BitEncodedInt(stream, value.length());
-        stream.write(value.getBytes(StandardCharsets.UTF_8));
+        buffer.Put7BitEncodedInt(view.GetLength());
+        buffer.PutBytes(view.GetData());
     }
 
-    private void WriteCompound(OutputStream stream, GHDFCompound value) throws IOException
+    void WriteStringArray(GHDFOutputBuffer buffer, String[] array) throws IOException
     {
-        Write7BitEncodedInt(stream, value.Size());
+        buffer.Put7BitEncodedInt(array.length);
+        for (String Value : array)
+        {
+            WriteString(buffer, Value);
+        }
+    }
 
-        int CurrentID = 0;
-        try
+    void WriteCompoundArray(GHDFOutputBuffer buffer, GHDFCompound[] array) throws IOException
+    {
+        buffer.Put7BitEncodedInt(array.length);
+        if ((_parallelPool != null) && (array.length > 1))
+        {
+            WriteCompoundArrayParallel(buffer, array);
+            return;
+        }
+
+        for (GHDFCompound Value : array)
+        {
+            WriteCompound(buffer, Value);
+        }
+    }
+
+    void WriteColumns(GHDFOutputBuffer buffer, GHDFColumns columns) throws IOException
+    {
+        // Rows are encoded straight from the columns, no compound is created for any of them.
+        int ColumnCount = columns.GetColumnCount();
+        buffer.Put7BitEncodedInt(columns.GetRowCount());
+        for (int Row = 0; Row < columns.GetRowCount(); Row++)
+        {
+            if (GetLengthPrefixSize() > 0)
+            {
+                WriteLengthPrefix(buffer, GetRowSize(columns, Row));
+            }
+
+            buffer.Put7BitEncodedInt(ColumnCount);
+            for (int i = 0; i < ColumnCount; i++)
+            {
+                GHDFType Type = columns.GetTypeAt(i);
+                buffer.Put7BitEncodedInt(columns.GetIDAt(i));
+                buffer.PutByte(Type.GetByteData());
+                switch (Type)
+                {
+                    case Int8 -> buffer.PutByte(((byte[])columns.GetColumnAt(i))[Row]);
+                    case Int16 -> buffer.PutShort(((short[])columns.GetColumnAt(i))[Row]);
+                    case Int32 -> buffer.PutInt(((int[])columns.GetColumnAt(i))[Row]);
+                    case Int64 -> buffer.PutLong(((long[])columns.GetColumnAt(i))[Row]);
+                    case Float -> buffer.PutFloat(((float[])columns.GetColumnAt(i))[Row]);
+                    case Double -> buffer.PutDouble(((double[])columns.GetColumnAt(i))[Row]);
+                    case Boolean -> buffer.PutBoolean(((boolean[])columns.GetColumnAt(i))[Row]);
+                    default -> WriteString(buffer, ((String[])columns.GetColumnAt(i))[Row]);
+                }
+            }
+        }
+    }
+
+    void WriteLengthPrefix(GHDFOutputBuffer buffer, long length) throws IOException { }
+
+    long GetColumnsSize(GHDFColumns columns)
+    {
+        long Size = GHDFOutputBuffer.Get7BitEncodedIntSize(columns.GetRowCount());
+        for (int Row = 0; Row < columns.GetRowCount(); Row++)
         {
-            for (int ID : value.GetIDs())
+            Size += GetLengthPrefixSize() + GetRowSize(columns, Row);
+        }
+        return Size;
+    }
+
+    long GetCompoundSize(GHDFCompound compound)
+    {
+        // The cached size covers the compound's own bytes, nested compounds and length prefixes are measured
+        // on every call since the prefixes depend on the writer version. String references depend on the
+        // document's string table, so the cache is not used when there is one. String arrays can be changed
+        // in place without the compound noticing, so they are measured on every call as well.
+        int PrefixSize = GetLengthPrefixSize();
+        long FlatSize = _stringTable == null ? compound.GetCachedFlatSize() : -1L;
+        boolean IsCached = FlatSize >= 0L;
+        if (!IsCached)
+        {
+            FlatSize = GHDFOutputBuffer.Get7BitEncodedIntSize(compound.Size());
+        }
+
+        long NestedSize = 0L;
+        for (int i = 0; i < compound.Size(); i++)
+        {
+            GHDFType Type = compound.GetTypeAt(i);
+            if (!IsCached)
+            {
+                FlatSize += GHDFOutputBuffer.Get7BitEncodedIntSize(compound.GetIDAt(i)) + 1;
+            }
+
+            if (Type == GHDFType.Compound)
+            {
+                NestedSize += PrefixSize + GetCompoundSize((GHDFCompound)compound.GetObjectAt(i));
+            }
+            else if ((Type == GHDFType.CompoundArray) && (compound.GetObjectAt(i) instanceof GHDFColumns Columns))
+            {
+                NestedSize += PrefixSize + GetColumnsSize(Columns);
+            }
+            else if (Type == GHDFType.CompoundArray)
             {
-                CurrentID = ID;
-                VerifyID(ID);
-                WriteEntry(stream, ID, value.GetEntry(ID), value.GetTypeOfEntry(ID));
+                GHDFCompound[] Array = (GHDFCompound[])compound.GetObjectAt(i);
+                if (!IsCached)
+                {
+                    FlatSize += GHDFOutputBuffer.Get7BitEncodedIntSize(Array.length);
+                }
+                NestedSize += PrefixSize;
+                for (GHDFCompound Element : Array)
+                {
+                    NestedSize += PrefixSize + GetCompoundSize(Element);
+                }
+            }
+            else if (Type == GHDFType.StringArray)
+            {
+                NestedSize += PrefixSize + GetStringArraySize((String[])compound.GetObjectAt(i));
+            }
+            else if (!IsCached)
+            {
+                FlatSize += GetValueSize(Type, compound, i);
             }
         }
-        catch (GHDFWriteException e)
+
+        if (!IsCached && (_stringTable == null))
         {
+            compound.SetCachedFlatSize(FlatSize);
+        }
+        return FlatSize + NestedSize;
+    }
 
-            throw new GHDFWriteException("Failed to write compound entry with ID %s. Nested fail: { %s }"
-                    .formatted(CurrentID != 0 ? Integer.toString(CurrentID) : "[Invalid ID of 0]", e.getMessage()));
+    private long GetValueSize(GHDFType type, GHDFCompound compound, int index)
+    {
+        if (GHDFCompound.IsPrimitiveType(type))
+        {
+            return GHDFReaderVersion1.GetFixedSize(type);
+        }
+
+        Object Value = compound.GetObjectAt(index);
+        if (Value instanceof GHDFArrayView View)
+        {
+            return GHDFOutputBuffer.Get7BitEncodedIntSize(View.GetLength()) + View.GetData().remaining();
+        }
+        if (type == GHDFType.String)
+        {
+            return GetStringSize((String)Value);
+        }
+        if (type == GHDFType.StringArray)
+        {
+            return GetStringArraySize((String[])Value);
         }
+
+        int Length = switch (type)
+        {
+            case Int8Array, UInt8Array -> ((byte[])Value).length;
+            case Int16Array, UInt16Array -> ((short[])Value).length;
+            case Int32Array, UInt32Array -> ((int[])Value).length;
+            case Int64Array, UInt64Array -> ((long[])Value).length;
+            case FloatArray -> ((float[])Value).length;
+            case DoubleArray -> ((double[])Value).length;
+            default -> ((boolean[])Value).length;
+        };
+        return GHDFOutputBuffer.Get7BitEncodedIntSize(Length) + ((long)Length * GHDFReaderVersion1.GetFixedSize(type));
     }
 
-    private void WriteByteArray(OutputStream stream, byte[] array) throws IOException
+    long GetStringArraySize(String[] array)
     {
-        Write7BitEncodedInt(stream, array.length);
-        stream.write(array);
+        long Size = GHDFOutputBuffer.Get7BitEncodedIntSize(array.length);
+        for (String Element : array)
+        {
+            Size += GetStringSize(Element);
+        }
+        return Size;
     }
 
-    private void WriteShortArray(OutputStream stream, short[] array) throws IOException
+    long GetCompoundArraySize(GHDFCompound[] array)
     {
-        Write7BitEncodedInt(stream, array.length);
-        ByteBuffer Buffer = GetByteBuffer(2 * array.length);
-        for (short Value : array)
+        long Size = GHDFOutputBuffer.Get7BitEncodedIntSize(array.length);
+        for (GHDFCompound Element : array)
         {
-            Buffer.putShort(Value);
+            Size += GetLengthPrefixSize() + GetCompoundSize(Element);
         }
-        stream.write(Buffer.array());
+        return Size;
     }
 
-    private void WriteIntArray(OutputStream stream, int[] array) throws IOException
+    private long GetRowSize(GHDFColumns columns, int row)
     {
-        Write7BitEncodedInt(stream, array.length);
-        ByteBuffer Buffer = GetByteBuffer(4 * array.length);
-        for (int Value : array)
+        long Size = GHDFOutputBuffer.Get7BitEncodedIntSize(columns.GetColumnCount());
+        for (int i = 0; i < columns.GetColumnCount(); i++)
         {
-            Buffer.putInt(Value);
+            GHDFType Type = columns.GetTypeAt(i);
+            Size += GHDFOutputBuffer.Get7BitEncodedIntSize(columns.GetIDAt(i)) + 1;
+            Size += Type == GHDFType.String ? GetStringSize(((String[])columns.GetColumnAt(i))[row])
+                    : GHDFReaderVersion1.GetFixedSize(Type);
         }
-        stream.write(Buffer.array());
+        return Size;
     }
 
-    private void WriteLongArray(OutputStream stream, long[] array) throws IOException
+    private long GetStringSize(String value)
     {
-        Write7BitEncodedInt(stream, array.length);
-        ByteBuffer Buffer = GetByteBuffer(8 * array.length);
-        for (long Value : array)
+        if (_stringTable != null)
         {
-            Buffer.putLong(Value);
+            return GHDFOutputBuffer.Get7BitEncodedIntSize(_stringTable.get(value));
         }
-        stream.write(Buffer.array());
+        int Length = GHDFOutputBuffer.GetUTF8Length(value);
+        return GHDFOutputBuffer.Get7BitEncodedIntSize(Length) + Length;
     }
 
-    private void WriteFloatArray(OutputStream stream, float[] array) throws IOException
+    private void RecordEntry(GHDFCompound compound, int index, GHDFType type)
     {
-        Write7BitEncodedInt(stream, array.length);
-        ByteBuffer Buffer = GetByteBuffer(4 * array.length);
-        for (float Value : array)
+        _statistics.CountEntry(type);
+        if ((type == GHDFType.String) || (type.IsArray() && (type != GHDFType.CompoundArray)))
         {
-            Buffer.putFloat(Value);
+            _statistics.RecordValueSize(type, GetValueSize(type, compound, index));
         }
-        stream.write(Buffer.array());
     }
 
-    private void WriteDoubleArray(OutputStream stream, double[] array) throws IOException
+    private ForkJoinTask<byte[]>[] ForkLargeEntries(GHDFCompound compound)
     {
-        Write7BitEncodedInt(stream, array.length);
-        ByteBuffer Buffer = GetByteBuffer(8 * array.length);
-        for (double Value : array)
+        ForkJoinTask<byte[]>[] Tasks = null;
+        for (int i = 0; i < compound.Size(); i++)
         {
-            Buffer.putDouble(Value);
+            GHDFType Type = compound.GetTypeAt(i);
+            long Size;
+            if (Type == GHDFType.Compound)
+            {
+                Size = GetCompoundSize((GHDFCompound)compound.GetObjectAt(i));
+            }
+            else if (Type == GHDFType.CompoundArray)
+            {
+                Size = compound.GetObjectAt(i) instanceof GHDFColumns Columns ? GetColumnsSize(Columns)
+                        : GetCompoundArraySize((GHDFCompound[])compound.GetObjectAt(i));
+            }
+            else
+            {
+                continue;
+            }
+
+            if (Size < _parallelThreshold)
+            {
+                continue;
+            }
+            if (Tasks == null)
+            {
+                Tasks = CreateTasks(compound.Size());
+            }
+
+            int ID = compound.GetIDAt(i);
+            Object Value = compound.GetObjectAt(i);
+            Tasks[i] = ForkEncoding(Size + GHDFOutputBuffer.Get7BitEncodedIntSize(ID) + 1 + GetLengthPrefixSize(),
+                    Buffer -> WriteEntry(Buffer, ID, Value, Type));
         }
-        stream.write(Buffer.array());
+        return Tasks;
     }
 
-    private void WriteBooleanArray(OutputStream stream, boolean[] array) throws IOException
+    private void WriteCompoundArrayParallel(GHDFOutputBuffer buffer, GHDFCompound[] array) throws IOException
     {
-        Write7BitEncodedInt(stream, array.length);
-        byte[] Buffer = new byte[array.length];
+        long[] Sizes = new long[array.length];
+        long TotalSize = 0L;
+        for (int i = 0; i < array.length; i++)
+        {
+            Sizes[i] = GetLengthPrefixSize() + GetCompoundSize(array[i]);
+            TotalSize += Sizes[i];
+        }
+        if (TotalSize < _parallelThreshold * 2L)
+        {
+            for (GHDFCompound Value : array)
+            {
+                WriteCompound(buffer, Value);
+            }
+            return;
+        }
+
+        // Elements are grouped into runs of at least the threshold size, each run is encoded on its own.
+        ForkJoinTask<byte[]>[] Tasks = CreateTasks((int)Math.min(array.length, TotalSize / _parallelThreshold + 1));
+        int TaskCount = 0;
+        int RunStart = 0;
+        long RunSize = 0L;
         for (int i = 0; i < array.length; i++)
         {
-            Buffer[i] = array[i] ? (byte)1 : (byte)0;
+            RunSize += Sizes[i];
+            if ((RunSize >= _parallelThreshold) || (i == array.length - 1))
+            {
+                int Start = RunStart;
+                int End = i + 1;
+                Tasks[TaskCount++] = ForkEncoding(RunSize, Buffer ->
+                {
+                    for (int j = Start; j < End; j++)
+                    {
+                        WriteCompound(Buffer, array[j]);
+                    }
+                });
+                RunStart = End;
+                RunSize = 0L;
+            }
+        }
+
+        try
+        {
+            for (int i = 0; i < TaskCount; i++)
+            {
+                buffer.PutBytes(JoinEncodedData(Tasks[i]));
+            }
+        }
+        catch (IOException e)
+        {
+            CancelTasks(Tasks);
+            throw e;
         }
-        stream.write(Buffer);
     }
 
-    private void WriteStringArray(OutputStream stream, String[] array) throws IOException
+    private ForkJoinTask<byte[]> ForkEncoding(long size, EncodeMethod method)
     {
-        Write7BitEncodedInt(stream, array.length);
-        for (String Value : array)
+        ForkJoinTask<byte[]> Task = ForkJoinTask.adapt(() ->
+        {
+            GHDFOutputBuffer Buffer = new GHDFOutputBuffer((int)Math.min(size, Integer.MAX_VALUE - 8));
+            method.Encode(Buffer);
+            return Buffer.ToArray();
+        });
+        return ForkJoinTask.getPool() == _parallelPool ? Task.fork() : _parallelPool.submit(Task);
+    }
+
+    private byte[] JoinEncodedData(ForkJoinTask<byte[]> task) throws IOException
+    {
+        try
         {
-            WriteString(stream, Value);
+            return task.join();
+        }
+        catch (RuntimeException e)
+        {
+            for (Throwable Cause = e; Cause != null; Cause = Cause.getCause())
+            {
+                if (Cause instanceof IOException CauseException)
+                {
+                    throw CauseException;
+                }
+            }
+            throw e;
         }
     }
 
-    private void WriteCompoundArray(OutputStream stream, GHDFCompound[] array) throws IOException
+    private void CancelTasks(ForkJoinTask<byte[]>[] tasks)
     {
-        Write7BitEncodedInt(stream, array.length);
-        for (GHDFCompound Value : array)
+        if (tasks == null)
+        {
+            return;
+        }
+        for (ForkJoinTask<byte[]> Task : tasks)
+        {
+            if (Task != null)
+            {
+                Task.cancel(false);
+            }
+        }
+    }
+
+    private void WritePrimitiveEntry(GHDFOutputBuffer buffer, int id, GHDFType type, long bits) throws IOException
+    {
+        buffer.Put7BitEncodedInt(id);
+        buffer.PutByte(type.GetByteData());
+        switch (GHDFReaderVersion1.GetFixedSize(type))
         {
-            WriteCompound(stream, Value);
+            case 1 -> buffer.PutByte((byte)bits);
+            case 2 -> buffer.PutShort((short)bits);
+            case 4 -> buffer.PutInt((int)bits);
+            default -> buffer.PutLong(bits);
         }
     }
 
-    private void WriteEntry(OutputStream stream, int id, Object value, GHDFType type) throws IOException
+    private void WriteEntry(GHDFOutputBuffer buffer, int id, Object value, GHDFType type) throws IOException
     {
         if (id == 0)
         {
             throw new GHDFWriteException("Invalid ID of 0 for entry.");
         }
 
-        TypeWriteMethod ChosenMethod = _typeBasedWriteMethods.get(type);
-        if (ChosenMethod == null)
+        if (GHDFCompound.IsPrimitiveType(type))
         {
             throw new GHDFWriteException("Invalid GHDF type \"%s\", cannot write data.".formatted(type.toString()));
         }
 
         try
         {
-            Write7BitEncodedInt(stream, id);
-            stream.write(type.GetByteData() & 0xff);
-            ChosenMethod.Write(stream, value);
+            buffer.Put7BitEncodedInt(id);
+            buffer.PutByte(type.GetByteData());
+            if (value instanceof GHDFArrayView View)
+            {
+                WriteArrayView(buffer, View);
+            }
+            else
+            {
+                WriteValue(buffer, value, type);
+            }
         }
         catch (ClassCastException e)
         {
@@ -328,10 +952,46 @@ class GHDFWriterVersion1 implements IGHDFWriter
         }
     }
 
+    void WriteValue(GHDFOutputBuffer buffer, Object value, GHDFType type) throws IOException
+    {
+        // A switch keeps dispatch on a dense table and lets each branch be inlined at the call site.
+        switch (type)
+        {
+            case String -> WriteString(buffer, (String)value);
+            case Compound -> WriteCompound(buffer, (GHDFCompound)value);
+            case Int8Array, UInt8Array -> WriteByteArray(buffer, (byte[])value);
+            case Int16Array, UInt16Array -> WriteShortArray(buffer, (short[])value);
+            case Int32Array, UInt32Array -> WriteIntArray(buffer, (int[])value);
+            case Int64Array, UInt64Array -> WriteLongArray(buffer, (long[])value);
+            case FloatArray -> WriteFloatArray(buffer, (float[])value);
+            case DoubleArray -> WriteDoubleArray(buffer, (double[])value);
+            case BooleanArray -> WriteBooleanArray(buffer, (boolean[])value);
+            case StringArray -> WriteStringArray(buffer, (String[])value);
+            case CompoundArray ->
+            {
+                if (value instanceof GHDFColumns Columns)
+                {
+                    WriteColumns(buffer, Columns);
+                }
+                else
+                {
+                    WriteCompoundArray(buffer, (GHDFCompound[])value);
+                }
+            }
+            default -> throw new GHDFWriteException("Invalid GHDF type \"%s\", cannot write data."
+                    .formatted(type.toString()));
+        }
+    }
+
 
     // Types.
-    private interface TypeWriteMethod
+    private interface EncodeMethod
+    {
+        void Encode(GHDFOutputBuffer buffer) throws IOException;
+    }
+
+    private interface DocumentWriteMethod<T>
     {
-        void Write(OutputStream stream, Object value) throws IOException;
+        T Write() throws IOException;
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+
+class GHDFWriterVersion2 extends GHDFWriterVersion1
+{
+    // Static fields.
+    static final IGHDFWriter SHARED_INSTANCE = new GHDFSharedWriter(GHDFWriterVersion2::new);
+
+
+    // Private fields.
+    private final int VERSION = 2;
+
+
+    // Constructors.
+    GHDFWriterVersion2()
+    {
+        this(new GHDFWriteOptions());
+    }
+
+    GHDFWriterVersion2(GHDFWriteOptions options)
+    {
+        super(options);
+    }
+
+
+    // Methods.
+    @Override
+    int GetVersion()
+    {
+        return VERSION;
+    }
+
+    @Override
+    int GetLengthPrefixSize()
+    {
+        return Integer.BYTES;
+    }
+
+    @Override
+    void WriteCompound(GHDFOutputBuffer buffer, GHDFCompound value) throws IOException
+    {
+        WriteByteLength(buffer, GetCompoundSize(value));
+        super.WriteCompound(buffer, value);
+    }
+
+    @Override
+    void WriteStringArray(GHDFOutputBuffer buffer, String[] array) throws IOException
+    {
+        WriteByteLength(buffer, GetStringArraySize(array));
+        super.WriteStringArray(buffer, array);
+    }
+
+    @Override
+    void WriteCompoundArray(GHDFOutputBuffer buffer, GHDFCompound[] array) throws IOException
+    {
+        WriteByteLength(buffer, GetCompoundArraySize(array));
+        super.WriteCompoundArray(buffer, array);
+    }
+
+    @Override
+    void WriteColumns(GHDFOutputBuffer buffer, GHDFColumns columns) throws IOException
+    {
+        WriteByteLength(buffer, GetColumnsSize(columns));
+        super.WriteColumns(buffer, columns);
+    }
+
+    @Override
+    void WriteLengthPrefix(GHDFOutputBuffer buffer, long length) throws IOException
+    {
+        WriteByteLength(buffer, length);
+    }
+
+
+    // Private methods.
+    private void WriteByteLength(GHDFOutputBuffer buffer, long length) throws IOException
+    {
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new GHDFWriteException("Cannot write value of %d bytes, lengths are limited to (2^31 - 1) bytes."
+                    .formatted(length));
+        }
+        buffer.PutInt((int)length);
+    }
+}
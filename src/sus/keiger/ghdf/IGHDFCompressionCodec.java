@@ -0,0 +1,29 @@
+package sus.keiger.ghdf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public interface IGHDFCompressionCodec
+{
+    // Static methods.
+    static IGHDFCompressionCodec GetDeflate()
+    {
+        return GHDFDeflateCodec.DEFAULT;
+    }
+
+    static IGHDFCompressionCodec GetDeflate(int level)
+    {
+        return new GHDFDeflateCodec(level);
+    }
+
+    static void Register(IGHDFCompressionCodec codec)
+    {
+        GHDFCompression.Register(codec);
+    }
+
+
+    // Methods.
+    byte GetID();
+    int Compress(byte[] source, int offset, int length, byte[] destination) throws IOException;
+    void Decompress(ByteBuffer source, byte[] destination, int offset, int length) throws IOException;
+}
@@ -0,0 +1,8 @@
+package sus.keiger.ghdf;
+
+public interface IGHDFListener
+{
+    // Methods.
+    default void OnRead(GHDFStatistics statistics) { }
+    default void OnWrite(GHDFStatistics statistics) { }
+}
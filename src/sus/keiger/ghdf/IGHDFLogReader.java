@@ -0,0 +1,18 @@
+package sus.keiger.ghdf;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface IGHDFLogReader extends Closeable, Iterable<GHDFCompound>
+{
+    // Static methods.
+    static IGHDFLogReader Open(String filePath) throws IOException
+    {
+        return new GHDFLogReader(filePath);
+    }
+
+
+    // Methods.
+    GHDFCompound Next() throws IOException;
+    long GetValidLength();
+}
@@ -0,0 +1,20 @@
+package sus.keiger.ghdf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+public interface IGHDFLogWriter extends Closeable
+{
+    // Static methods.
+    static IGHDFLogWriter Open(String filePath) throws IOException
+    {
+        return new GHDFLogWriter(filePath);
+    }
+
+
+    // Methods.
+    void Append(GHDFCompound compound) throws IOException;
+    void Append(List<GHDFCompound> compounds) throws IOException;
+    void Sync() throws IOException;
+}
@@ -1,23 +1,104 @@
 package sus.keiger.ghdf;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public interface IGHDFReader
 {
     // Static methods.
+    // Readers keep no per-document state and are thread-safe, readers without options are shared instances.
     static IGHDFReader GetVersion1()
     {
-        return new GHDFReaderVersion1();
+        return GHDFReaderVersion1.SHARED_INSTANCE;
+    }
+
+    static IGHDFReader GetVersion1(GHDFReadOptions options)
+    {
+        return new GHDFReaderVersion1(options);
+    }
+
+    static IGHDFReader GetVersion2()
+    {
+        return GHDFReaderVersion2.SHARED_INSTANCE;
+    }
+
+    static IGHDFReader GetVersion2(GHDFReadOptions options)
+    {
+        return new GHDFReaderVersion2(options);
+    }
+
+    static IGHDFReader GetMappedVersion1()
+    {
+        return GHDFMappedReaderVersion1.SHARED_INSTANCE;
+    }
+
+    static IGHDFReader GetMappedVersion1(GHDFReadOptions options)
+    {
+        return new GHDFMappedReaderVersion1(options);
     }
 
     static IGHDFReader GetAutoDetectVersion()
     {
-        return null;
+        return GHDFAutoDetectReader.SHARED_INSTANCE;
+    }
+
+    static IGHDFReader GetAutoDetectVersion(GHDFReadOptions options)
+    {
+        return new GHDFAutoDetectReader(options);
     }
 
 
     // Methods.
     GHDFCompound Read(String filePath) throws IOException;
     GHDFCompound Read(InputStream stream) throws IOException;
+
+    // Methods added after the first release have defaults so existing implementations keep compiling.
+    // Without projection support the whole document is decoded and entries outside the projection are dropped.
+    default GHDFCompound Read(String filePath, GHDFProjection projection) throws IOException
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+
+        try (InputStream FileStream = new FileInputStream(filePath))
+        {
+            return Read(FileStream, projection);
+        }
+    }
+
+    default GHDFCompound Read(InputStream stream, GHDFProjection projection) throws IOException
+    {
+        if (projection == null)
+        {
+            throw new IllegalArgumentException("projection is null");
+        }
+
+        GHDFCompound Compound = Read(stream);
+        projection.Apply(Compound);
+        return Compound;
+    }
+
+    default CompletableFuture<GHDFCompound> ReadAsync(String filePath)
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                return Read(filePath);
+            }
+            catch (IOException e)
+            {
+                throw new CompletionException(e);
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package sus.keiger.ghdf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+
+public interface IGHDFStreamReader extends Closeable
+{
+    // Static methods.
+    static IGHDFStreamReader GetVersion1(InputStream stream)
+    {
+        return new GHDFStreamReaderVersion1(stream);
+    }
+
+    static IGHDFStreamReader GetVersion1(InputStream stream, GHDFReadOptions options)
+    {
+        return new GHDFStreamReaderVersion1(stream, options);
+    }
+
+    static IGHDFStreamReader GetVersion1(ReadableByteChannel channel)
+    {
+        return new GHDFStreamReaderVersion1(channel);
+    }
+
+    static IGHDFStreamReader GetVersion1(ReadableByteChannel channel, GHDFReadOptions options)
+    {
+        return new GHDFStreamReaderVersion1(channel, options);
+    }
+
+
+    // Methods.
+    GHDFToken Next() throws IOException;
+    GHDFToken GetCurrentToken();
+    int GetDepth();
+
+    int GetEntryID();
+    GHDFType GetEntryType();
+    GHDFType GetValueType();
+    int GetLength();
+
+    byte GetByte();
+    short GetShort();
+    int GetInt();
+    long GetLong();
+    float GetFloat();
+    double GetDouble();
+    boolean GetBoolean();
+    String GetString();
+
+    Object ReadValue() throws IOException;
+    void SkipValue() throws IOException;
+}
@@ -1,18 +1,90 @@
 package sus.keiger.ghdf;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public interface IGHDFWriter
 {
     // Static methods.
+    // Writers without options are shared, thread-safe instances. Writers created with options reuse their buffers
+    // between documents and must not be used by several threads at once.
     static IGHDFWriter GetVersion1()
     {
-        return new GHDFWriterVersion1();
+        return GHDFWriterVersion1.SHARED_INSTANCE;
+    }
+
+    static IGHDFWriter GetVersion1(GHDFWriteOptions options)
+    {
+        return new GHDFWriterVersion1(options);
+    }
+
+    static IGHDFWriter GetVersion2()
+    {
+        return GHDFWriterVersion2.SHARED_INSTANCE;
+    }
+
+    static IGHDFWriter GetVersion2(GHDFWriteOptions options)
+    {
+        return new GHDFWriterVersion2(options);
     }
 
 
     // Methods.
     public void Write(GHDFCompound compound, String filePath) throws IOException;
     public void Write(GHDFCompound compound, OutputStream stream) throws IOException;
+
+    // Everything below builds on the two methods above, so writers implementing only those still compile.
+    public default void Write(GHDFCompound compound, WritableByteChannel channel) throws IOException
+    {
+        if (channel == null)
+        {
+            throw new IllegalArgumentException("channel is null");
+        }
+        Write(compound, Channels.newOutputStream(channel));
+    }
+
+    public default byte[] Write(GHDFCompound compound) throws IOException
+    {
+        ByteArrayOutputStream Stream = new ByteArrayOutputStream();
+        Write(compound, Stream);
+        return Stream.toByteArray();
+    }
+
+    public default long GetEncodedSize(GHDFCompound compound)
+    {
+        try
+        {
+            return Write(compound).length;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public default CompletableFuture<Void> WriteAsync(GHDFCompound compound, String filePath)
+    {
+        if (filePath == null)
+        {
+            throw new IllegalArgumentException("filePath is null");
+        }
+
+        return CompletableFuture.runAsync(() ->
+        {
+            try
+            {
+                Write(compound, filePath);
+            }
+            catch (IOException e)
+            {
+                throw new CompletionException(e);
+            }
+        });
+    }
 }
\ No newline at end of file